@@ -0,0 +1,131 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.collision.AabbTree;
+import com.gameengine.collision.Broadphase;
+import com.gameengine.collision.CollisionLayer;
+import com.gameengine.collision.SpatialHashGrid;
+import com.gameengine.collision.SweepAndPrune;
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsKernels;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.Random;
+
+/**
+ * 基准测试用的场景构建工具：用固定随机种子生成实体，保证每次运行数据一致
+ */
+final class BenchmarkScenes {
+    static final int WIDTH = 1920;
+    static final int HEIGHT = 1080;
+    static final long SEED = 42L;
+
+    private BenchmarkScenes() {}
+
+    /**
+     * 创建场景并开启/关闭原型存储
+     */
+    static Scene newScene(boolean archetypeStorage) {
+        Scene scene = new Scene("Benchmark");
+        scene.setArchetypeStorageEnabled(archetypeStorage);
+        scene.initialize();
+        return scene;
+    }
+
+    /**
+     * 与 GameScene 中敌人相同的组件组合：变换、物理、盒碰撞体、矩形渲染
+     */
+    static GameObject enemy(Random random) {
+        GameObject enemy = new GameObject("Enemy");
+        TransformComponent transform = enemy.addComponent(new TransformComponent(
+            new Vector2(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT)));
+        transform.setScale(new Vector2(60, 80));
+        PhysicsComponent physics = enemy.addComponent(new PhysicsComponent(0.5f));
+        physics.setFriction(0.98f);
+        physics.setVelocity(new Vector2(random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100));
+        enemy.addComponent(new ColliderComponent(ColliderComponent.ColliderType.BOX, 22, 55, new Vector2(0, 15)))
+            .setLayer(CollisionLayer.ENEMY);
+        enemy.addComponent(new RenderComponent(RenderComponent.RenderType.RECTANGLE, new Vector2(60, 80),
+            new RenderComponent.Color(1, 0, 0)));
+        return enemy;
+    }
+
+    /**
+     * 与火球相同的组件组合：变换、物理、圆碰撞体、矩形渲染
+     */
+    static GameObject fireball(Random random) {
+        GameObject fireball = new GameObject("Fireball");
+        fireball.addComponent(new TransformComponent(
+            new Vector2(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT)));
+        PhysicsComponent physics = fireball.addComponent(new PhysicsComponent(0.1f));
+        physics.setUseGravity(false);
+        physics.setFriction(1.0f);
+        physics.setVelocity(new Vector2(random.nextFloat() * 600 - 300, random.nextFloat() * 600 - 300));
+        fireball.addComponent(new ColliderComponent(ColliderComponent.ColliderType.CIRCLE, 10, new Vector2()))
+            .setLayer(CollisionLayer.FIREBALL);
+        fireball.addComponent(new RenderComponent(RenderComponent.RenderType.RECTANGLE, new Vector2(20, 20),
+            new RenderComponent.Color(1, 0.5f, 0)));
+        return fireball;
+    }
+
+    static GameObject player() {
+        GameObject player = new GameObject("Player");
+        player.addComponent(new TransformComponent(new Vector2(WIDTH / 2f, HEIGHT / 2f)));
+        player.addComponent(new PhysicsComponent(1.0f));
+        player.addComponent(new ColliderComponent(ColliderComponent.ColliderType.BOX, 20, 40, new Vector2(0, 5)))
+            .setLayer(CollisionLayer.PLAYER);
+        player.addComponent(new RenderComponent(RenderComponent.RenderType.RECTANGLE, new Vector2(40, 60),
+            new RenderComponent.Color(0, 1, 0)));
+        return player;
+    }
+
+    /**
+     * 向场景加入一个玩家、enemyCount 个敌人和 fireballCount 个火球，并执行一次 update 使其生效
+     */
+    static void populate(Scene scene, int enemyCount, int fireballCount) {
+        Random random = new Random(SEED);
+        scene.addGameObject(player());
+        for (int i = 0; i < enemyCount; i++) {
+            GameObject enemy = enemy(random);
+            enemy.setId(i);
+            scene.addGameObject(enemy);
+        }
+        for (int i = 0; i < fireballCount; i++) {
+            GameObject fireball = fireball(random);
+            fireball.setId(i);
+            scene.addGameObject(fireball);
+        }
+        scene.update(0.0f);
+    }
+
+    /**
+     * 按参数名选择物理内核；"vector" 需要以 -Psimd 构建的引擎，且 fork 时加 --add-modules jdk.incubator.vector
+     */
+    static PhysicsKernels kernels(String name) {
+        if ("vector".equals(name)) {
+            PhysicsKernels vector = PhysicsKernels.vector();
+            if (vector == null) {
+                throw new IllegalStateException("向量物理内核不可用（引擎需以 mvn -Psimd install 构建）");
+            }
+            return vector;
+        }
+        return PhysicsKernels.scalar();
+    }
+
+    /**
+     * 按参数名选择碰撞宽相；"none" 为逐对比较
+     */
+    static Broadphase broadphase(String name) {
+        switch (name) {
+            case "grid": return new SpatialHashGrid();
+            case "sap": return new SweepAndPrune();
+            case "tree": return new AabbTree();
+            case "none": return null;
+            default: throw new IllegalArgumentException("未知宽相: " + name);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ColliderComponent.collideWith：entityCount 对碰撞体逐对检测，覆盖盒/盒、盒/圆、圆/圆三种组合
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ColliderBenchmark {
+    public enum Pair {
+        BOX_BOX, BOX_CIRCLE, CIRCLE_CIRCLE
+    }
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"BOX_BOX", "BOX_CIRCLE", "CIRCLE_CIRCLE"})
+    public Pair pair;
+
+    private ColliderComponent[] first;
+    private GameObject[] second;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(BenchmarkScenes.SEED);
+        ColliderComponent.ColliderType typeA = pair == Pair.CIRCLE_CIRCLE
+            ? ColliderComponent.ColliderType.CIRCLE : ColliderComponent.ColliderType.BOX;
+        ColliderComponent.ColliderType typeB = pair == Pair.BOX_BOX
+            ? ColliderComponent.ColliderType.BOX : ColliderComponent.ColliderType.CIRCLE;
+        first = new ColliderComponent[entityCount];
+        second = new GameObject[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            // 两两靠近放置，约一半的对发生重叠
+            float x = random.nextFloat() * BenchmarkScenes.WIDTH;
+            float y = random.nextFloat() * BenchmarkScenes.HEIGHT;
+            first[i] = create(typeA, x, y).getComponent(ColliderComponent.class);
+            second[i] = create(typeB, x + random.nextFloat() * 60, y + random.nextFloat() * 60);
+        }
+    }
+
+    private static GameObject create(ColliderComponent.ColliderType type, float x, float y) {
+        GameObject obj = new GameObject("Collider");
+        obj.addComponent(new TransformComponent(new Vector2(x, y)));
+        if (type == ColliderComponent.ColliderType.BOX) {
+            obj.addComponent(new ColliderComponent(type, 30, 30, new Vector2()));
+        } else {
+            obj.addComponent(new ColliderComponent(type, 15, new Vector2()));
+        }
+        return obj;
+    }
+
+    @Benchmark
+    public int collideWith() {
+        int hits = 0;
+        for (int i = 0; i < entityCount; i++) {
+            if (first[i].collideWith(second[i])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.core.GameLogic;
+import com.gameengine.core.WorkerPool;
+import com.gameengine.scene.Scene;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameLogic.checkCollisions：玩家对敌人、火球对敌人
+ * 火球数量为敌人的 1/10；broadphase=none 为逐对比较，grid 为均匀网格宽相，sap 为排序扫描宽相，tree 为动态包围盒树
+ * 命中产生的移除请求不会被执行（不调用 scene.update），因此每次迭代的数据相同
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class CollisionBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"true", "false"})
+    public boolean archetypeStorage;
+
+    @Param({"none", "grid", "sap", "tree"})
+    public String broadphase;
+
+    private Scene scene;
+    private WorkerPool workerPool;
+    private GameLogic gameLogic;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workerPool = new WorkerPool();
+        scene = BenchmarkScenes.newScene(archetypeStorage);
+        BenchmarkScenes.populate(scene, entityCount, Math.max(1, entityCount / 10));
+        gameLogic = new GameLogic(scene, workerPool);
+        gameLogic.setBroadphase(BenchmarkScenes.broadphase(broadphase));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workerPool.shutdown();
+        scene.clear();
+    }
+
+    @Benchmark
+    public int checkCollisions() {
+        gameLogic.checkCollisions();
+        return gameLogic.getScore();
+    }
+}
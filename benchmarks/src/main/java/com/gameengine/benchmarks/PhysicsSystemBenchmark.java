@@ -0,0 +1,53 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.core.WorkerPool;
+import com.gameengine.scene.Scene;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PhysicsSystem.update：积分 + 边界处理，分别测试原型列存储与对象组件两条路径
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules", "jdk.incubator.vector"})
+public class PhysicsSystemBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"true", "false"})
+    public boolean archetypeStorage;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    private Scene scene;
+    private WorkerPool workerPool;
+    private PhysicsSystem physicsSystem;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        workerPool = new WorkerPool();
+        scene = BenchmarkScenes.newScene(archetypeStorage);
+        // 只放敌人：火球出界会被移除，导致实体数随迭代变化
+        BenchmarkScenes.populate(scene, entityCount, 0);
+        physicsSystem = new PhysicsSystem(scene, workerPool, BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT);
+        physicsSystem.setKernels(BenchmarkScenes.kernels(kernels));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        workerPool.shutdown();
+        scene.clear();
+    }
+
+    @Benchmark
+    public void update() {
+        physicsSystem.update(1.0f / 60.0f);
+    }
+}
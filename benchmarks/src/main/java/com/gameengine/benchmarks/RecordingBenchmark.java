@@ -0,0 +1,47 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.recording.RecordingConfig;
+import com.gameengine.recording.RecordingService;
+import com.gameengine.scene.Scene;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecordingService 关键帧序列化：采集场景实体并生成一行 JSON
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RecordingBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    @Param({"true", "false"})
+    public boolean archetypeStorage;
+
+    private Scene scene;
+    private RecordingService recordingService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = BenchmarkScenes.newScene(archetypeStorage);
+        BenchmarkScenes.populate(scene, entityCount, entityCount / 10);
+        // 只做序列化，不调用 start，不会打开文件
+        recordingService = new RecordingService(new RecordingConfig("recordings/benchmark.jsonl"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scene.clear();
+    }
+
+    @Benchmark
+    public String serializeKeyframe() {
+        return recordingService.buildKeyframe(scene);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.example.ReplayScene;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReplayScene 录制解析：解析若干关键帧，每帧含 entityCount 个敌人
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ReplayParseBenchmark {
+    private static final int KEYFRAMES = 4;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    private ReplayScene replayScene;
+    private List<String> recordingLines;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        replayScene = new ReplayScene(null, null);
+        recordingLines = buildRecording(entityCount);
+    }
+
+    /**
+     * 按录制格式生成每个关键帧都含 entityCount 个敌人的录制内容
+     */
+    private static List<String> buildRecording(int entityCount) {
+        Random random = new Random(BenchmarkScenes.SEED);
+        List<String> lines = new ArrayList<>();
+        lines.add("{\"type\":\"header\",\"version\":1,\"w\":" + BenchmarkScenes.WIDTH + ",\"h\":" + BenchmarkScenes.HEIGHT + "}");
+        for (int k = 0; k < KEYFRAMES; k++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{\"type\":\"keyframe\",\"t\":").append(k * 0.5).append(",\"players\":[");
+            appendEntity(sb, 0, random, "PlayerImage");
+            sb.append("],\"enemies\":[");
+            for (int i = 0; i < entityCount; i++) {
+                if (i > 0) sb.append(',');
+                appendEntity(sb, i, random, "EnemyImage");
+            }
+            sb.append("],\"fireballs\":[]}");
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    private static void appendEntity(StringBuilder sb, int id, Random random, String image) {
+        sb.append(String.format(Locale.ROOT,
+            "{\"id\":%d,\"status\":1,\"x\":%.2f,\"y\":%.2f,\"w\":60,\"h\":80,\"image\":\"%s\",\"angle\":0}",
+            id, random.nextFloat() * BenchmarkScenes.WIDTH, random.nextFloat() * BenchmarkScenes.HEIGHT, image));
+    }
+
+    @Benchmark
+    public int parseRecording() {
+        return replayScene.parseRecording(recordingLines);
+    }
+}
@@ -0,0 +1,50 @@
+package com.gameengine.benchmarks;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.Scene;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scene.getComponents：取组件列表并遍历一遍
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SceneQueryBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entityCount;
+
+    private Scene scene;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = BenchmarkScenes.newScene(false);
+        BenchmarkScenes.populate(scene, entityCount, entityCount / 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scene.clear();
+    }
+
+    @Benchmark
+    public void getTransforms(Blackhole bh) {
+        List<TransformComponent> transforms = scene.getComponents(TransformComponent.class);
+        for (int i = 0; i < transforms.size(); i++) {
+            bh.consume(transforms.get(i));
+        }
+    }
+
+    @Benchmark
+    public int getPhysicsCount() {
+        return scene.getComponents(PhysicsComponent.class).size();
+    }
+}
@@ -10,15 +10,23 @@ if exist "lib\lwjgl" (
   set "LWJGL_CP=.;lib\lwjgl\*"
 )
 
-rem 查找所有 Java 源文件
+rem 查找所有 Java 源文件（GAMEENGINE_SIMD=1 时才编译使用孵化模块的 Vector API 物理内核）
 set "SOURCES="
+set "JAVAC_FLAGS=-encoding UTF-8"
+if "%GAMEENGINE_SIMD%"=="1" (
+  set "JAVAC_FLAGS=-encoding UTF-8 --add-modules jdk.incubator.vector"
+)
 for /r "src\main\java" %%f in (*.java) do (
-  set "SOURCES=!SOURCES! %%f"
+  if "%GAMEENGINE_SIMD%"=="1" (
+    set "SOURCES=!SOURCES! %%f"
+  ) else if /i not "%%~nxf"=="VectorPhysicsKernels.java" (
+    set "SOURCES=!SOURCES! %%f"
+  )
 )
 
 rem 编译
 echo Compiling Java sources...
-javac -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
+javac %JAVAC_FLAGS% -d build\classes -cp "%LWJGL_CP%" %SOURCES%
 if errorlevel 1 (
   echo Compilation failed!
   exit /b 1
@@ -48,6 +56,11 @@ if exist "%NATIVES_PATH%" (
   set "JAVA_FLAGS=-Dorg.lwjgl.librarypath=%NATIVES_PATH%"
 )
 
+rem GAMEENGINE_SIMD=1 时启用 Vector API 物理内核
+if "%GAMEENGINE_SIMD%"=="1" (
+  set "JAVA_FLAGS=%JAVA_FLAGS% --add-modules jdk.incubator.vector -Dgameengine.simd=true"
+)
+
 rem 运行程序
 echo Running game...
 java %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.Game
@@ -8,8 +8,14 @@ LWJGL_CP="."
 if [ -d "lib/lwjgl" ]; then
   LWJGL_CP=".:lib/lwjgl/*"
 fi
-SOURCES=$(find src/main/java -type f -name "*.java")
-javac -d build/classes -cp "$LWJGL_CP" $SOURCES
+# GAMEENGINE_SIMD=1 时才编译使用孵化模块的 Vector API 物理内核
+if [ "${GAMEENGINE_SIMD:-0}" = "1" ]; then
+  SOURCES=$(find src/main/java -type f -name "*.java")
+  javac --add-modules jdk.incubator.vector -d build/classes -cp "$LWJGL_CP" $SOURCES
+else
+  SOURCES=$(find src/main/java -type f -name "*.java" ! -name "VectorPhysicsKernels.java")
+  javac -d build/classes -cp "$LWJGL_CP" $SOURCES
+fi
 
 LWJGL_DIR="lib/lwjgl"
 CLASSPATH="build/classes"
@@ -36,6 +42,11 @@ if [ -n "$OS_ID" ] && [ -n "$ARCH_ID" ] && [ -d "$LWJGL_DIR/natives/${OS_ID}-${A
   JAVA_FLAGS="-Dorg.lwjgl.librarypath=$LWJGL_DIR/natives/${OS_ID}-${ARCH_ID}"
 fi
 
+# GAMEENGINE_SIMD=1 时启用 Vector API 物理内核
+if [ "${GAMEENGINE_SIMD:-0}" = "1" ]; then
+  JAVA_FLAGS="$JAVA_FLAGS --add-modules jdk.incubator.vector -Dgameengine.simd=true"
+fi
+
 if [[ "$OS" == Darwin* ]]; then
   exec java -XstartOnFirstThread $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.Game
 else
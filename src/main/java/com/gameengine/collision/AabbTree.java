@@ -0,0 +1,524 @@
+package com.gameengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * 动态包围盒树：叶子存放代理放大 margin 后的“胖”包围盒，内部节点是子节点包围盒的并集
+ * 代理移动后仍在胖包围盒内时不改动树（静止或休眠的物体没有额外开销），移出时删除叶子并重新插入
+ * 插入按周长代价选择兄弟节点，沿路向上修正包围盒并做旋转保持平衡
+ * 既可作为场景的碰撞宽相，也支持区域、半径和射线查询；查询用回调访问结果，遍历栈按线程复用，不分配对象
+ * 查询之间可以并发，查询与更新不能并发
+ */
+public class AabbTree extends AbstractBroadphase {
+    private static final int NULL = -1;
+
+    /**
+     * 区域/半径查询回调，返回 false 提前结束查询
+     */
+    public interface QueryCallback {
+        boolean visit(int id);
+    }
+
+    /**
+     * 射线查询回调，fraction 为射线与代理包围盒的进入比例（0 为起点，1 为终点）
+     * 返回值作为新的最大比例：返回 fraction 只继续找更近的命中，返回 1 保持原范围，返回 0 结束查询，返回负数忽略该代理
+     */
+    public interface RayCastCallback {
+        float hit(int id, float fraction);
+    }
+
+    // 节点：包围盒、父子关系、高度（叶子为 0，空闲节点为 -1）、叶子对应的代理 id
+    private float[] nodeMinX = new float[0];
+    private float[] nodeMinY = new float[0];
+    private float[] nodeMaxX = new float[0];
+    private float[] nodeMaxY = new float[0];
+    private int[] parent = new int[0];
+    private int[] child1 = new int[0];
+    private int[] child2 = new int[0];
+    private int[] height = new int[0];
+    private int[] nodeProxy = new int[0];
+    private int root = NULL;
+    // 空闲节点链表（通过 parent 链接）
+    private int freeList = NULL;
+    private int nodeCount;
+
+    // 每个代理对应的叶子节点
+    private int[] leafOf = new int[0];
+    private final float margin;
+    private int reinserts;
+
+    private final ThreadLocal<NodeStack> stacks = ThreadLocal.withInitial(NodeStack::new);
+
+    /**
+     * 默认胖包围盒边距 8
+     */
+    public AabbTree() {
+        this(8.0f);
+    }
+
+    public AabbTree(float margin) {
+        this.margin = Math.max(0f, margin);
+    }
+
+    @Override
+    public void beginUpdate() {
+        super.beginUpdate();
+        reinserts = 0;
+    }
+
+    @Override
+    protected void proxyAdded(int id) {
+        int leaf = allocateNode();
+        setFatBounds(leaf, id);
+        nodeProxy[leaf] = id;
+        height[leaf] = 0;
+        leafOf[id] = leaf;
+        insertLeaf(leaf);
+    }
+
+    @Override
+    protected void proxyMoved(int id) {
+        int leaf = leafOf[id];
+        if (nodeMinX[leaf] <= minX[id] && nodeMinY[leaf] <= minY[id]
+            && maxX[id] <= nodeMaxX[leaf] && maxY[id] <= nodeMaxY[leaf]) {
+            return;
+        }
+        removeLeaf(leaf);
+        setFatBounds(leaf, id);
+        insertLeaf(leaf);
+        reinserts++;
+    }
+
+    @Override
+    protected void proxyRemoved(int id) {
+        int leaf = leafOf[id];
+        removeLeaf(leaf);
+        freeNode(leaf);
+        leafOf[id] = NULL;
+    }
+
+    @Override
+    protected void rebuild() {
+        // 增量维护，更新时已完成
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        NodeStack stack = stacks.get();
+        int pairs = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int a = liveIds[i];
+            int base = stack.size;
+            stack.push(root);
+            while (stack.size > base) {
+                int node = stack.pop();
+                if (node == NULL || !nodeOverlaps(node, minX[a], minY[a], maxX[a], maxY[a])) continue;
+                if (height[node] == 0) {
+                    int b = nodeProxy[node];
+                    // 每个无序对只在 id 较小的一方查询时报告
+                    if (b > a && accepts(a, b) && overlaps(a, b)) {
+                        callback.pair(a, b);
+                        pairs++;
+                    }
+                } else {
+                    stack.push(child1[node]);
+                    stack.push(child2[node]);
+                }
+            }
+        }
+        pairCount = pairs;
+    }
+
+    /**
+     * 查询包围盒与给定区域相交、且分类与 mask 匹配的代理
+     */
+    public void queryAabb(float x0, float y0, float x1, float y1, int mask, QueryCallback callback) {
+        NodeStack stack = stacks.get();
+        int base = stack.size;
+        stack.push(root);
+        while (stack.size > base) {
+            int node = stack.pop();
+            if (node == NULL || !nodeOverlaps(node, x0, y0, x1, y1)) continue;
+            if (height[node] == 0) {
+                int id = nodeProxy[node];
+                if ((category[id] & mask) != 0
+                    && minX[id] <= x1 && x0 <= maxX[id] && minY[id] <= y1 && y0 <= maxY[id]
+                    && !callback.visit(id)) {
+                    stack.size = base;
+                    return;
+                }
+            } else {
+                stack.push(child1[node]);
+                stack.push(child2[node]);
+            }
+        }
+    }
+
+    public void queryAabb(float x0, float y0, float x1, float y1, QueryCallback callback) {
+        queryAabb(x0, y0, x1, y1, -1, callback);
+    }
+
+    /**
+     * 查询包围盒与圆 (x, y, radius) 相交、且分类与 mask 匹配的代理
+     */
+    public void queryRadius(float x, float y, float radius, int mask, QueryCallback callback) {
+        float r2 = radius * radius;
+        NodeStack stack = stacks.get();
+        int base = stack.size;
+        stack.push(root);
+        while (stack.size > base) {
+            int node = stack.pop();
+            if (node == NULL || !nodeOverlaps(node, x - radius, y - radius, x + radius, y + radius)) continue;
+            if (height[node] == 0) {
+                int id = nodeProxy[node];
+                if ((category[id] & mask) == 0) continue;
+                float dx = x - Math.max(minX[id], Math.min(x, maxX[id]));
+                float dy = y - Math.max(minY[id], Math.min(y, maxY[id]));
+                if (dx * dx + dy * dy <= r2 && !callback.visit(id)) {
+                    stack.size = base;
+                    return;
+                }
+            } else {
+                stack.push(child1[node]);
+                stack.push(child2[node]);
+            }
+        }
+    }
+
+    public void queryRadius(float x, float y, float radius, QueryCallback callback) {
+        queryRadius(x, y, radius, -1, callback);
+    }
+
+    /**
+     * 沿线段 (x0, y0) -> (x1, y1) 查询包围盒被穿过、且分类与 mask 匹配的代理
+     * 访问顺序不按距离；需要最近命中时让回调返回 fraction，之后只会访问更近的代理
+     */
+    public void raycast(float x0, float y0, float x1, float y1, int mask, RayCastCallback callback) {
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float maxFraction = 1.0f;
+        NodeStack stack = stacks.get();
+        int base = stack.size;
+        stack.push(root);
+        while (stack.size > base) {
+            int node = stack.pop();
+            if (node == NULL) continue;
+            if (segmentEntry(x0, y0, dx, dy, maxFraction,
+                             nodeMinX[node], nodeMinY[node], nodeMaxX[node], nodeMaxY[node]) < 0) continue;
+            if (height[node] == 0) {
+                int id = nodeProxy[node];
+                if ((category[id] & mask) == 0) continue;
+                float t = segmentEntry(x0, y0, dx, dy, maxFraction, minX[id], minY[id], maxX[id], maxY[id]);
+                if (t < 0) continue;
+                float value = callback.hit(id, t);
+                if (value == 0) {
+                    stack.size = base;
+                    return;
+                }
+                if (value > 0) {
+                    maxFraction = Math.min(maxFraction, value);
+                }
+            } else {
+                stack.push(child1[node]);
+                stack.push(child2[node]);
+            }
+        }
+    }
+
+    public void raycast(float x0, float y0, float x1, float y1, RayCastCallback callback) {
+        raycast(x0, y0, x1, y1, -1, callback);
+    }
+
+    /**
+     * 线段与包围盒的进入比例（slab 法），起点在盒内为 0，不相交或超过 maxT 返回 -1
+     */
+    static float segmentEntry(float x0, float y0, float dx, float dy, float maxT,
+                              float minX, float minY, float maxX, float maxY) {
+        float tMin = 0f, tMax = maxT;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return -1;
+        } else {
+            float inv = 1f / dx;
+            float t1 = (minX - x0) * inv, t2 = (maxX - x0) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return -1;
+        }
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return -1;
+        } else {
+            float inv = 1f / dy;
+            float t1 = (minY - y0) * inv, t2 = (maxY - y0) * inv;
+            tMin = Math.max(tMin, Math.min(t1, t2));
+            tMax = Math.min(tMax, Math.max(t1, t2));
+            if (tMin > tMax) return -1;
+        }
+        return tMin;
+    }
+
+    private boolean nodeOverlaps(int node, float x0, float y0, float x1, float y1) {
+        return nodeMinX[node] <= x1 && x0 <= nodeMaxX[node] && nodeMinY[node] <= y1 && y0 <= nodeMaxY[node];
+    }
+
+    private void setFatBounds(int node, int id) {
+        nodeMinX[node] = minX[id] - margin;
+        nodeMinY[node] = minY[id] - margin;
+        nodeMaxX[node] = maxX[id] + margin;
+        nodeMaxY[node] = maxY[id] + margin;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+        // 按周长代价下降，找到插入后总代价最小的兄弟节点
+        float lx0 = nodeMinX[leaf], ly0 = nodeMinY[leaf], lx1 = nodeMaxX[leaf], ly1 = nodeMaxY[leaf];
+        int index = root;
+        while (height[index] > 0) {
+            int c1 = child1[index], c2 = child2[index];
+            float area = perimeter(nodeMinX[index], nodeMinY[index], nodeMaxX[index], nodeMaxY[index]);
+            float combined = unionPerimeter(index, lx0, ly0, lx1, ly1);
+            float cost = 2 * combined;
+            float inheritance = 2 * (combined - area);
+            float cost1 = childCost(c1, lx0, ly0, lx1, ly1) + inheritance;
+            float cost2 = childCost(c2, lx0, ly0, lx1, ly1) + inheritance;
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? c1 : c2;
+        }
+        int sibling = index;
+
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        nodeProxy[newParent] = NULL;
+        nodeMinX[newParent] = Math.min(lx0, nodeMinX[sibling]);
+        nodeMinY[newParent] = Math.min(ly0, nodeMinY[sibling]);
+        nodeMaxX[newParent] = Math.max(lx1, nodeMaxX[sibling]);
+        nodeMaxY[newParent] = Math.max(ly1, nodeMaxY[sibling]);
+        height[newParent] = height[sibling] + 1;
+        if (oldParent != NULL) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitUpwards(parent[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+        if (grandParent != NULL) {
+            if (child1[grandParent] == p) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refitUpwards(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+    }
+
+    /**
+     * 从 index 向上逐层旋转平衡并修正高度与包围盒
+     */
+    private void refitUpwards(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int c1 = child1[index], c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /**
+     * 左右子树高度差超过 1 时把较高的子节点旋转上来，返回旋转后该位置的节点
+     */
+    private int balance(int a) {
+        if (height[a] < 2) return a;
+        int b = child1[a], c = child2[a];
+        int diff = height[c] - height[b];
+        if (diff > 1) {
+            return rotateUp(a, c, b, false);
+        }
+        if (diff < -1) {
+            return rotateUp(a, b, c, true);
+        }
+        return a;
+    }
+
+    /**
+     * 把 a 的较高子节点 up 提升到 a 的位置，a 保留 other 并接收 up 的较矮子节点
+     * upIsChild1 表示 up 原来是 a 的 child1
+     */
+    private int rotateUp(int a, int up, int other, boolean upIsChild1) {
+        int f = child1[up], g = child2[up];
+        child1[up] = a;
+        parent[up] = parent[a];
+        parent[a] = up;
+        int upParent = parent[up];
+        if (upParent != NULL) {
+            if (child1[upParent] == a) {
+                child1[upParent] = up;
+            } else {
+                child2[upParent] = up;
+            }
+        } else {
+            root = up;
+        }
+        int keep = height[f] > height[g] ? f : g;
+        int give = keep == f ? g : f;
+        child2[up] = keep;
+        if (upIsChild1) {
+            child1[a] = give;
+        } else {
+            child2[a] = give;
+        }
+        parent[give] = a;
+        setUnion(a, other, give);
+        setUnion(up, a, keep);
+        height[a] = 1 + Math.max(height[other], height[give]);
+        height[up] = 1 + Math.max(height[a], height[keep]);
+        return up;
+    }
+
+    private void setUnion(int node, int a, int b) {
+        nodeMinX[node] = Math.min(nodeMinX[a], nodeMinX[b]);
+        nodeMinY[node] = Math.min(nodeMinY[a], nodeMinY[b]);
+        nodeMaxX[node] = Math.max(nodeMaxX[a], nodeMaxX[b]);
+        nodeMaxY[node] = Math.max(nodeMaxY[a], nodeMaxY[b]);
+    }
+
+    private float childCost(int child, float x0, float y0, float x1, float y1) {
+        float combined = unionPerimeter(child, x0, y0, x1, y1);
+        if (height[child] == 0) return combined;
+        return combined - perimeter(nodeMinX[child], nodeMinY[child], nodeMaxX[child], nodeMaxY[child]);
+    }
+
+    private float unionPerimeter(int node, float x0, float y0, float x1, float y1) {
+        return perimeter(Math.min(x0, nodeMinX[node]), Math.min(y0, nodeMinY[node]),
+                         Math.max(x1, nodeMaxX[node]), Math.max(y1, nodeMaxY[node]));
+    }
+
+    private static float perimeter(float x0, float y0, float x1, float y1) {
+        return 2 * ((x1 - x0) + (y1 - y0));
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            int old = parent.length;
+            int next = Math.max(64, old * 2);
+            nodeMinX = Arrays.copyOf(nodeMinX, next);
+            nodeMinY = Arrays.copyOf(nodeMinY, next);
+            nodeMaxX = Arrays.copyOf(nodeMaxX, next);
+            nodeMaxY = Arrays.copyOf(nodeMaxY, next);
+            parent = Arrays.copyOf(parent, next);
+            child1 = Arrays.copyOf(child1, next);
+            child2 = Arrays.copyOf(child2, next);
+            height = Arrays.copyOf(height, next);
+            nodeProxy = Arrays.copyOf(nodeProxy, next);
+            for (int i = old; i < next; i++) {
+                parent[i] = i + 1 < next ? i + 1 : NULL;
+                height[i] = -1;
+            }
+            freeList = old;
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        nodeProxy[node] = NULL;
+        nodeCount++;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+        nodeCount--;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        super.ensureCapacity(capacity);
+        if (leafOf.length < minX.length) {
+            leafOf = Arrays.copyOf(leafOf, minX.length);
+        }
+    }
+
+    /**
+     * 树高（只有一个叶子时为 0，空树为 -1）
+     */
+    public int getHeight() {
+        return root == NULL ? -1 : height[root];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * 本帧因移出胖包围盒而重新插入的代理数
+     */
+    public int getReinsertCount() {
+        return reinserts;
+    }
+
+    public float getMargin() {
+        return margin;
+    }
+
+    @Override
+    public String getName() {
+        return "AabbTree";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AabbTree[proxies=%d nodes=%d height=%d reinserts=%d pairs=%d]",
+                liveCount, nodeCount, getHeight(), reinserts, pairCount);
+    }
+
+    /**
+     * 遍历栈，每个线程一个；嵌套查询从当前栈顶开始，互不干扰
+     */
+    private static final class NodeStack {
+        int[] data = new int[64];
+        int size;
+
+        void push(int node) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = node;
+        }
+
+        int pop() {
+            return data[--size];
+        }
+    }
+}
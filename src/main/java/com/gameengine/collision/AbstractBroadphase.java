@@ -0,0 +1,156 @@
+package com.gameengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * 宽相公共部分：按 id 下标存放代理的包围盒与过滤位，记录存活代理的稠密列表，
+ * 以帧号标记的方式找出本帧未更新（已消失）的代理
+ */
+public abstract class AbstractBroadphase implements Broadphase {
+    protected float[] minX = new float[0];
+    protected float[] minY = new float[0];
+    protected float[] maxX = new float[0];
+    protected float[] maxY = new float[0];
+    protected int[] category = new int[0];
+    protected int[] mask = new int[0];
+    private int[] stamp = new int[0];
+    private boolean[] present = new boolean[0];
+
+    // 存活代理的稠密列表及每个 id 在其中的位置
+    protected int[] liveIds = new int[16];
+    protected int liveCount;
+    private int[] denseIndex = new int[0];
+
+    private int frame;
+    protected int pairCount;
+
+    @Override
+    public void beginUpdate() {
+        frame++;
+    }
+
+    @Override
+    public void update(int id, float x0, float y0, float x1, float y1, int cat, int msk) {
+        ensureCapacity(id + 1);
+        minX[id] = x0;
+        minY[id] = y0;
+        maxX[id] = x1;
+        maxY[id] = y1;
+        category[id] = cat;
+        mask[id] = msk;
+        stamp[id] = frame;
+        if (!present[id]) {
+            present[id] = true;
+            if (liveCount == liveIds.length) {
+                liveIds = Arrays.copyOf(liveIds, liveIds.length * 2);
+            }
+            denseIndex[id] = liveCount;
+            liveIds[liveCount++] = id;
+            proxyAdded(id);
+        } else {
+            proxyMoved(id);
+        }
+    }
+
+    @Override
+    public void endUpdate() {
+        for (int i = liveCount - 1; i >= 0; i--) {
+            int id = liveIds[i];
+            if (stamp[id] != frame) {
+                removeLive(id);
+                proxyRemoved(id);
+            }
+        }
+        rebuild();
+    }
+
+    private void removeLive(int id) {
+        int index = denseIndex[id];
+        int last = liveIds[--liveCount];
+        liveIds[index] = last;
+        denseIndex[last] = index;
+        present[id] = false;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < liveCount; i++) {
+            int id = liveIds[i];
+            present[id] = false;
+            proxyRemoved(id);
+        }
+        liveCount = 0;
+        pairCount = 0;
+        rebuild();
+    }
+
+    @Override
+    public int getProxyCount() {
+        return liveCount;
+    }
+
+    @Override
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public boolean contains(int id) {
+        return id < present.length && present[id];
+    }
+
+    /**
+     * 过滤位是否允许两个代理成对
+     */
+    protected final boolean accepts(int a, int b) {
+        return (category[a] & mask[b]) != 0 && (category[b] & mask[a]) != 0;
+    }
+
+    protected final boolean overlaps(int a, int b) {
+        return minX[a] <= maxX[b] && minX[b] <= maxX[a] && minY[a] <= maxY[b] && minY[b] <= maxY[a];
+    }
+
+    /**
+     * 新代理加入（本帧首次 update）
+     */
+    protected void proxyAdded(int id) {
+    }
+
+    /**
+     * 已有代理更新了包围盒
+     */
+    protected void proxyMoved(int id) {
+    }
+
+    /**
+     * 代理被移除
+     */
+    protected void proxyRemoved(int id) {
+    }
+
+    /**
+     * endUpdate 末尾调用，重建或整理内部结构
+     */
+    protected abstract void rebuild();
+
+    /**
+     * id 数组扩容，子类有按 id 下标的数组时覆盖并调用 super
+     */
+    protected void ensureCapacity(int capacity) {
+        if (capacity <= present.length) return;
+        int next = Math.max(capacity, Math.max(64, present.length * 2));
+        minX = Arrays.copyOf(minX, next);
+        minY = Arrays.copyOf(minY, next);
+        maxX = Arrays.copyOf(maxX, next);
+        maxY = Arrays.copyOf(maxY, next);
+        category = Arrays.copyOf(category, next);
+        mask = Arrays.copyOf(mask, next);
+        stamp = Arrays.copyOf(stamp, next);
+        present = Arrays.copyOf(present, next);
+        denseIndex = Arrays.copyOf(denseIndex, next);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[proxies=%d pairs=%d]", getName(), liveCount, pairCount);
+    }
+}
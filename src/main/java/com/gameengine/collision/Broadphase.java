@@ -0,0 +1,41 @@
+package com.gameengine.collision;
+
+/**
+ * 碰撞宽相：维护一组带包围盒的代理，输出包围盒相交的候选对，交给窄相精确检测
+ * 每帧的用法：beginUpdate()，对仍存在的对象逐个 update()，endUpdate()（本帧未更新的代理被移除），然后 findPairs()
+ * 代理 id 由调用方给出，应在帧间保持稳定（如实体句柄的槽位下标），以便增量结构复用上一帧的状态
+ * 只有 (a.category & b.mask) != 0 且 (b.category & a.mask) != 0 的代理才会成对
+ */
+public interface Broadphase {
+    /**
+     * 候选对回调，每个无序对只报告一次
+     */
+    interface PairCallback {
+        void pair(int idA, int idB);
+    }
+
+    void beginUpdate();
+
+    /**
+     * 新增或更新代理的包围盒与过滤位
+     */
+    void update(int id, float minX, float minY, float maxX, float maxY, int category, int mask);
+
+    /**
+     * 结束本帧更新：移除本帧没有 update 的代理，并完成结构的重建或整理
+     */
+    void endUpdate();
+
+    void findPairs(PairCallback callback);
+
+    int getProxyCount();
+
+    /**
+     * 上一次 findPairs 报告的候选对数量
+     */
+    int getPairCount();
+
+    void clear();
+
+    String getName();
+}
@@ -0,0 +1,115 @@
+package com.gameengine.collision;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 碰撞层：按名称驻留，每层对应 32 位分类中的一位
+ * 层与层之间是否碰撞由一张对称的层对矩阵决定，新层默认与所有层碰撞
+ * 碰撞体的掩码实时读取所在层在矩阵中的设置，矩阵可以随时修改，对已有（包括池中）的碰撞体同样生效
+ */
+public final class CollisionLayer {
+    public static final int MAX_LAYERS = 32;
+
+    private static final Map<String, CollisionLayer> layers = new HashMap<>();
+    private static final CollisionLayer[] byIndex = new CollisionLayer[MAX_LAYERS];
+    private static int nextIndex = 0;
+
+    // 未指定层的碰撞体所在的层
+    public static final CollisionLayer DEFAULT = of("Default");
+    // 游戏内置层：玩家只与敌人碰撞，敌人与玩家、火球碰撞；同层之间不碰撞
+    public static final CollisionLayer PLAYER = of("Player");
+    public static final CollisionLayer ENEMY = of("Enemy");
+    public static final CollisionLayer FIREBALL = of("Fireball");
+
+    static {
+        setCollides(PLAYER, PLAYER, false);
+        setCollides(PLAYER, FIREBALL, false);
+        setCollides(ENEMY, ENEMY, false);
+        setCollides(FIREBALL, FIREBALL, false);
+    }
+
+    private final String name;
+    private final int index;
+    private final int bit;
+    // 层对矩阵的一行：与本层碰撞的层的位（写入在锁内，读取不加锁）
+    private volatile int mask;
+
+    private CollisionLayer(String name, int index) {
+        this.name = name;
+        this.index = index;
+        this.bit = 1 << index;
+    }
+
+    /**
+     * 获取（必要时创建）指定名称的层
+     */
+    public static synchronized CollisionLayer of(String name) {
+        CollisionLayer layer = layers.get(name);
+        if (layer == null) {
+            if (nextIndex >= MAX_LAYERS) {
+                throw new IllegalStateException("碰撞层数量超过上限 " + MAX_LAYERS + ": " + name);
+            }
+            layer = new CollisionLayer(name, nextIndex++);
+            layers.put(name, layer);
+            byIndex[layer.index] = layer;
+            // 新层与所有已有层（含自身）碰撞
+            for (int i = 0; i < nextIndex; i++) {
+                byIndex[i].mask |= layer.bit;
+                layer.mask |= byIndex[i].bit;
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * 设置两层之间是否碰撞（对称）
+     */
+    public static synchronized void setCollides(CollisionLayer a, CollisionLayer b, boolean collides) {
+        if (collides) {
+            a.mask |= b.bit;
+            b.mask |= a.bit;
+        } else {
+            a.mask &= ~b.bit;
+            b.mask &= ~a.bit;
+        }
+    }
+
+    public static synchronized boolean collides(CollisionLayer a, CollisionLayer b) {
+        return (a.mask & b.bit) != 0;
+    }
+
+    /**
+     * 分类位与掩码的过滤规则，与 Broadphase 相同
+     */
+    public static boolean accepts(int categoryA, int maskA, int categoryB, int maskB) {
+        return (categoryA & maskB) != 0 && (categoryB & maskA) != 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 分类位
+     */
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * 与本层碰撞的层的位
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,234 @@
+package com.gameengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * 均匀网格宽相：每帧按包围盒把代理放入覆盖到的格子（开放寻址哈希表，不分配对象），
+ * 只有同格的代理才会成对；一对代理同处多个格子时，只在两者交集左下角所在的格子报告一次
+ * 格子边长默认按本帧代理的平均尺寸自动选取（平均最大边长的 cellScale 倍）
+ * 覆盖格子过多的超大代理单独存放，与所有代理直接比较
+ */
+public class SpatialHashGrid extends AbstractBroadphase {
+    private static final int MAX_CELLS_PER_PROXY = 64;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private float cellSize;
+    private float invCellSize;
+    private boolean autoCellSize;
+    private float cellScale;
+
+    // 格子哈希表：键为打包的格子坐标，值为该格条目链表头
+    private long[] keys = new long[0];
+    private int[] heads = new int[0];
+    private int tableMask;
+    private int[] usedSlots = new int[0];
+    private int usedCount;
+
+    // 条目：所属代理与同格链表的下一项
+    private int[] entryProxy = new int[64];
+    private int[] entryNext = new int[64];
+    private int entryCount;
+
+    // 超大代理
+    private int[] largeIds = new int[16];
+    private int largeCount;
+    private boolean[] large = new boolean[0];
+
+    /**
+     * 自动选取格子边长
+     */
+    public SpatialHashGrid() {
+        this.autoCellSize = true;
+        this.cellScale = 2.0f;
+        setCellSizeInternal(64);
+    }
+
+    /**
+     * 固定格子边长
+     */
+    public SpatialHashGrid(float cellSize) {
+        this.autoCellSize = false;
+        this.cellScale = 2.0f;
+        setCellSizeInternal(cellSize);
+    }
+
+    @Override
+    protected void rebuild() {
+        if (autoCellSize && liveCount > 0) {
+            double sum = 0;
+            for (int i = 0; i < liveCount; i++) {
+                int id = liveIds[i];
+                sum += Math.max(maxX[id] - minX[id], maxY[id] - minY[id]);
+            }
+            setCellSizeInternal((float) (cellScale * sum / liveCount));
+        }
+
+        // 第一遍：分出超大代理并统计格子条目总数，哈希表按条目数定容（一个代理最多占 MAX_CELLS_PER_PROXY 格）
+        largeCount = 0;
+        int totalCells = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int id = liveIds[i];
+            long cells = ((long) cellOf(maxX[id]) - cellOf(minX[id]) + 1) * ((long) cellOf(maxY[id]) - cellOf(minY[id]) + 1);
+            large[id] = cells > MAX_CELLS_PER_PROXY;
+            if (large[id]) {
+                if (largeCount == largeIds.length) {
+                    largeIds = Arrays.copyOf(largeIds, largeIds.length * 2);
+                }
+                largeIds[largeCount++] = id;
+            } else {
+                totalCells += (int) cells;
+            }
+        }
+
+        resetTable(totalCells);
+        entryCount = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int id = liveIds[i];
+            if (large[id]) continue;
+            int cx0 = cellOf(minX[id]), cx1 = cellOf(maxX[id]);
+            int cy0 = cellOf(minY[id]), cy1 = cellOf(maxY[id]);
+            for (int cy = cy0; cy <= cy1; cy++) {
+                for (int cx = cx0; cx <= cx1; cx++) {
+                    insert(cx, cy, id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        int pairs = 0;
+        for (int u = 0; u < usedCount; u++) {
+            int slot = usedSlots[u];
+            long key = keys[slot];
+            int cx = (int) (key >> 32);
+            int cy = (int) key;
+            for (int e = heads[slot]; e >= 0; e = entryNext[e]) {
+                int a = entryProxy[e];
+                for (int f = entryNext[e]; f >= 0; f = entryNext[f]) {
+                    int b = entryProxy[f];
+                    if (!accepts(a, b) || !overlaps(a, b)) continue;
+                    // 去重：只在交集左下角所在的格子报告
+                    if (cellOf(Math.max(minX[a], minX[b])) != cx || cellOf(Math.max(minY[a], minY[b])) != cy) continue;
+                    callback.pair(a, b);
+                    pairs++;
+                }
+            }
+        }
+        for (int l = 0; l < largeCount; l++) {
+            int a = largeIds[l];
+            for (int i = 0; i < liveCount; i++) {
+                int b = liveIds[i];
+                // 两个超大代理之间只按 id 顺序报告一次
+                if (b == a || (large[b] && b < a)) continue;
+                if (!accepts(a, b) || !overlaps(a, b)) continue;
+                callback.pair(a, b);
+                pairs++;
+            }
+        }
+        pairCount = pairs;
+    }
+
+    private void insert(int cx, int cy, int id) {
+        long key = ((long) cx << 32) | (cy & 0xffffffffL);
+        int slot = hash(cx, cy) & tableMask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & tableMask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            heads[slot] = -1;
+            usedSlots[usedCount++] = slot;
+        }
+        if (entryCount == entryProxy.length) {
+            entryProxy = Arrays.copyOf(entryProxy, entryCount * 2);
+            entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+        }
+        entryProxy[entryCount] = id;
+        entryNext[entryCount] = heads[slot];
+        heads[slot] = entryCount++;
+    }
+
+    /**
+     * 清空哈希表；容量不足时按 2 的幂扩容，保证装载因子不超过 1/2（expectedCells 为本帧格子条目总数，不同格子数只会更少）
+     */
+    private void resetTable(int expectedCells) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedCells * 2) - 1) << 1;
+        if (keys.length < capacity) {
+            keys = new long[capacity];
+            heads = new int[capacity];
+            usedSlots = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            tableMask = capacity - 1;
+        } else {
+            for (int u = 0; u < usedCount; u++) {
+                keys[usedSlots[u]] = EMPTY;
+            }
+        }
+        usedCount = 0;
+    }
+
+    private static int hash(int cx, int cy) {
+        int h = cx * 0x9E3779B1 ^ cy * 0x85EBCA6B;
+        return h ^ (h >>> 16);
+    }
+
+    private int cellOf(float v) {
+        return (int) Math.floor(v * invCellSize);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        super.ensureCapacity(capacity);
+        if (large.length < minX.length) {
+            large = Arrays.copyOf(large, minX.length);
+        }
+    }
+
+    private void setCellSizeInternal(float size) {
+        this.cellSize = Math.max(1f, size);
+        this.invCellSize = 1f / cellSize;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * 固定格子边长并关闭自动选取
+     */
+    public void setCellSize(float cellSize) {
+        this.autoCellSize = false;
+        setCellSizeInternal(cellSize);
+    }
+
+    /**
+     * 开启自动选取：格子边长 = 平均代理最大边长 * scale
+     */
+    public void setAutoCellSize(float scale) {
+        this.autoCellSize = true;
+        this.cellScale = Math.max(0.25f, scale);
+    }
+
+    public boolean isAutoCellSize() {
+        return autoCellSize;
+    }
+
+    /**
+     * 当前占用的格子数
+     */
+    public int getCellCount() {
+        return usedCount;
+    }
+
+    @Override
+    public String getName() {
+        return "SpatialHashGrid";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpatialHashGrid[proxies=%d cells=%d cellSize=%.1f large=%d pairs=%d]",
+                liveCount, usedCount, cellSize, largeCount, pairCount);
+    }
+}
@@ -0,0 +1,142 @@
+package com.gameengine.collision;
+
+import java.util.Arrays;
+
+/**
+ * 排序扫描宽相：代理按主轴上的包围盒下界排序，沿主轴扫描，只比较主轴区间重叠的代理
+ * 每帧在上一帧的顺序上做插入排序，物体帧间位移小时几乎是 O(n)
+ * 主轴取代理中心方差较大的轴，另一轴方差明显更大（超过 AXIS_SWITCH 倍）时才切换，避免来回抖动
+ * 适合实体聚集的场景（均匀网格在这种分布下会退化为少数格子内的逐对比较）
+ */
+public class SweepAndPrune extends AbstractBroadphase {
+    private static final float AXIS_SWITCH = 1.5f;
+
+    // 按主轴下界排序的代理 id，及对应的下界（与 order 同步移动，排序时顺序访问）
+    private int[] order = new int[16];
+    private float[] orderMin = new float[16];
+    private int orderCount;
+    private boolean removedSinceRebuild;
+    // 0 为 x 轴，1 为 y 轴
+    private int axis;
+    private int lastSwaps;
+
+    @Override
+    protected void proxyAdded(int id) {
+        if (orderCount == order.length) {
+            order = Arrays.copyOf(order, orderCount * 2);
+            orderMin = Arrays.copyOf(orderMin, orderCount * 2);
+        }
+        order[orderCount++] = id;
+    }
+
+    @Override
+    protected void proxyRemoved(int id) {
+        removedSinceRebuild = true;
+    }
+
+    @Override
+    protected void rebuild() {
+        if (removedSinceRebuild) {
+            compact();
+        }
+        chooseAxis();
+        float[] min = axis == 0 ? minX : minY;
+        for (int i = 0; i < orderCount; i++) {
+            orderMin[i] = min[order[i]];
+        }
+        // 插入排序：顺序基本不变时接近线性
+        int swaps = 0;
+        for (int i = 1; i < orderCount; i++) {
+            float key = orderMin[i];
+            int id = order[i];
+            int j = i - 1;
+            while (j >= 0 && orderMin[j] > key) {
+                orderMin[j + 1] = orderMin[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            swaps += i - 1 - j;
+            orderMin[j + 1] = key;
+            order[j + 1] = id;
+        }
+        lastSwaps = swaps;
+    }
+
+    /**
+     * 去掉已移除的代理，保持其余代理的相对顺序
+     */
+    private void compact() {
+        int n = 0;
+        for (int i = 0; i < orderCount; i++) {
+            int id = order[i];
+            if (contains(id)) {
+                order[n++] = id;
+            }
+        }
+        orderCount = n;
+        removedSinceRebuild = false;
+    }
+
+    private void chooseAxis() {
+        if (liveCount < 2) return;
+        double sumX = 0, sumY = 0, sqX = 0, sqY = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int id = liveIds[i];
+            double cx = 0.5 * (minX[id] + maxX[id]);
+            double cy = 0.5 * (minY[id] + maxY[id]);
+            sumX += cx;
+            sumY += cy;
+            sqX += cx * cx;
+            sqY += cy * cy;
+        }
+        double varX = sqX - sumX * sumX / liveCount;
+        double varY = sqY - sumY * sumY / liveCount;
+        if (axis == 0 && varY > varX * AXIS_SWITCH) {
+            axis = 1;
+        } else if (axis == 1 && varX > varY * AXIS_SWITCH) {
+            axis = 0;
+        }
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        float[] max = axis == 0 ? maxX : maxY;
+        int pairs = 0;
+        for (int i = 0; i < orderCount; i++) {
+            int a = order[i];
+            float end = max[a];
+            for (int j = i + 1; j < orderCount && orderMin[j] <= end; j++) {
+                int b = order[j];
+                if (!accepts(a, b) || !overlaps(a, b)) continue;
+                callback.pair(a, b);
+                pairs++;
+            }
+        }
+        pairCount = pairs;
+    }
+
+    /**
+     * 当前主轴：0 为 x 轴，1 为 y 轴
+     */
+    public int getAxis() {
+        return axis;
+    }
+
+    /**
+     * 上一次排序移动的元素次数，反映帧间顺序变化的程度
+     */
+    public int getLastSwaps() {
+        return lastSwaps;
+    }
+
+    @Override
+    public String getName() {
+        return "SweepAndPrune";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SweepAndPrune[proxies=%d axis=%s swaps=%d pairs=%d]",
+                liveCount, axis == 0 ? "x" : "y", lastSwaps, pairCount);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gameengine.components;
 
+import com.gameengine.collision.CollisionLayer;
 import com.gameengine.core.Component;
 import com.gameengine.core.GameObject;
 import com.gameengine.math.Vector2;
@@ -13,6 +14,14 @@ public class ColliderComponent extends Component<ColliderComponent> {
     private float radius;
     private Vector2 offset;
     private boolean showBound;
+    // 连续碰撞检测：按上一步到当前位置扫掠检测，防止高速物体穿过薄碰撞体
+    private boolean continuous;
+    // 碰撞层：分类位与掩码，双方互相匹配才会成为候选对；默认在 Default 层并与所有层碰撞
+    // 掩码默认实时取所在层在层对矩阵中的设置，setMask 之后改用自己的掩码
+    private CollisionLayer layer;
+    private int category;
+    private int mask;
+    private boolean maskOverridden;
     public enum ColliderType {
         BOX,
         CIRCLE
@@ -25,6 +34,8 @@ public class ColliderComponent extends Component<ColliderComponent> {
         this.radius = 10;
         this.offset = new Vector2(0, 0);
         this.showBound = false;
+        this.layer = CollisionLayer.DEFAULT;
+        this.category = CollisionLayer.DEFAULT.getBit();
     }
 
     public ColliderComponent(ColliderType colliderType, float width, float height, Vector2 offset) {
@@ -58,7 +69,10 @@ public class ColliderComponent extends Component<ColliderComponent> {
         if (transform == null) {
             return;
         }
-        Vector2 position = transform.getPosition().add(offset);
+        Vector2 position = transform.getPosition().add(getOffset());
+        float width = getWidth();
+        float height = getHeight();
+        float radius = getRadius();
         switch (colliderType) {
             case BOX:
                 renderer.drawLine(position.x  - width/2, position.y - height/2, 
@@ -87,68 +101,128 @@ public class ColliderComponent extends Component<ColliderComponent> {
         TransformComponent otherTransform = other.getComponent(TransformComponent.class);
         if (otherTransform == null) return false;
         ColliderComponent otherCollider = other.getComponent(ColliderComponent.class);
-        if (otherCollider == null || !otherCollider.enabled) return false;
-        if (this.colliderType == ColliderType.BOX){
-            if (otherCollider.colliderType == ColliderType.BOX) {
-                float axMin = transform.getPosition().x - width/2 + offset.x;
-                float axMax = transform.getPosition().x + width/2 + offset.x;
-                float ayMin = transform.getPosition().y - height/2 + offset.y;
-                float ayMax = transform.getPosition().y + height/2 + offset.y;
-
-                float bxMin = otherTransform.getPosition().x - otherCollider.width/2 + otherCollider.offset.x;
-                float bxMax = otherTransform.getPosition().x + otherCollider.width/2 + otherCollider.offset.x;
-                float byMin = otherTransform.getPosition().y - otherCollider.height/2 + otherCollider.offset.y;
-                float byMax = otherTransform.getPosition().y + otherCollider.height/2 + otherCollider.offset.y;
-
-                if ((axMin >= bxMin && axMin <= bxMax && ayMin >= byMin && ayMin <= byMax) ||
-                    (axMax >= bxMin && axMax <= bxMax && ayMin >= byMin && ayMin <= byMax) ||
-                    (axMin >= bxMin && axMin <= bxMax && ayMax >= byMin && ayMax <= byMax) ||
-                    (axMax >= bxMin && axMax <= bxMax && ayMax >= byMin && ayMax <= byMax)) {
-                    return true;
-                } else return false;
-            } else if (otherCollider.colliderType == ColliderType.CIRCLE) {
-                float axMin = transform.getPosition().x - width/2 + offset.x;
-                float axMax = transform.getPosition().x + width/2 + offset.x;
-                float ayMin = transform.getPosition().y - height/2 + offset.y;
-                float ayMax = transform.getPosition().y + height/2 + offset.y;
-                float ox = otherTransform.getPosition().x + otherCollider.offset.x;
-                float oy = otherTransform.getPosition().y + otherCollider.offset.y;
-                float r = otherCollider.radius;
-                Vector2 o = new Vector2(ox, oy);
+        if (otherCollider == null || !otherCollider.enabled || !canCollideWith(otherCollider)) return false;
+        return overlaps(colliderType, transform.getX() + getOffsetX(), transform.getY() + getOffsetY(),
+                        getWidth(), getHeight(), getRadius(),
+                        otherCollider.colliderType,
+                        otherTransform.getX() + otherCollider.getOffsetX(), otherTransform.getY() + otherCollider.getOffsetY(),
+                        otherCollider.getWidth(), otherCollider.getHeight(), otherCollider.getRadius());
+    }
+
+    /**
+     * 基于原始数据的窄相检测（不依赖组件查找，可直接喂入原型存储中的列数据）
+     * (ax, ay)、(bx, by) 为包含偏移后的碰撞体中心
+     */
+    public static boolean overlaps(ColliderType typeA, float ax, float ay, float aw, float ah, float ar,
+                                   ColliderType typeB, float bx, float by, float bw, float bh, float br) {
+        if (typeA == ColliderType.BOX) {
+            if (typeB == ColliderType.BOX) {
+                float axMin = ax - aw/2;
+                float axMax = ax + aw/2;
+                float ayMin = ay - ah/2;
+                float ayMax = ay + ah/2;
+
+                float bxMin = bx - bw/2;
+                float bxMax = bx + bw/2;
+                float byMin = by - bh/2;
+                float byMax = by + bh/2;
+
+                return (axMin >= bxMin && axMin <= bxMax && ayMin >= byMin && ayMin <= byMax) ||
+                       (axMax >= bxMin && axMax <= bxMax && ayMin >= byMin && ayMin <= byMax) ||
+                       (axMin >= bxMin && axMin <= bxMax && ayMax >= byMin && ayMax <= byMax) ||
+                       (axMax >= bxMin && axMax <= bxMax && ayMax >= byMin && ayMax <= byMax);
+            } else if (typeB == ColliderType.CIRCLE) {
+                float axMin = ax - aw/2;
+                float axMax = ax + aw/2;
+                float ayMin = ay - ah/2;
+                float ayMax = ay + ah/2;
+                float ox = bx;
+                float oy = by;
+                float r = br;
                 if (ox >= axMin && ox <= axMax && oy >= ayMin && oy <= ayMax) {
                     return true;
-                } else if (ox < axMin && oy < ayMin) {
-                    return o.distance(new Vector2(axMin, ayMin)) <= r;
-                } else if (ox > axMax && oy < ayMin) {
-                    return o.distance(new Vector2(axMax, ayMin)) <= r;
-                } else if (ox < axMin && oy > ayMax) {
-                    return o.distance(new Vector2(axMin, ayMax)) <= r;
-                } else if (ox > axMax && oy > ayMax) {
-                    return o.distance(new Vector2(axMax, ayMax)) <= r;
-                } else if (ox < axMin) {
-                    return (axMin - ox) <= r;
-                } else if (ox > axMax) {
-                    return (ox - axMax) <= r;
-                } else if (oy < ayMin) {
-                    return (ayMin - oy) <= r;
-                } else if (oy > ayMax) {
-                    return (oy - ayMax) <= r;
-                } else return false;
-            } 
-        } else if (this.colliderType == ColliderType.CIRCLE) {
-            if (otherCollider.colliderType == ColliderType.CIRCLE) {
-                float r1 = radius;
-                float r2 = otherCollider.radius;
-                Vector2 o1 = transform.getPosition().add(offset);
-                Vector2 o2 = otherTransform.getPosition().add(otherCollider.offset);
-                return o1.distance(o2) <= (r1 + r2);
-            } else if (otherCollider.colliderType == ColliderType.BOX) {
-                return otherCollider.collideWith(owner);
+                }
+                // 圆心到矩形的最近点，比较距离平方
+                float cx = ox < axMin ? axMin : (ox > axMax ? axMax : ox);
+                float cy = oy < ayMin ? ayMin : (oy > ayMax ? ayMax : oy);
+                float dx = ox - cx;
+                float dy = oy - cy;
+                return dx * dx + dy * dy <= r * r;
+            }
+        } else if (typeA == ColliderType.CIRCLE) {
+            if (typeB == ColliderType.CIRCLE) {
+                float dx = ax - bx;
+                float dy = ay - by;
+                float rr = ar + br;
+                return dx * dx + dy * dy <= rr * rr;
+            } else if (typeB == ColliderType.BOX) {
+                return overlaps(typeB, bx, by, bw, bh, br, typeA, ax, ay, aw, ah, ar);
             }
         }
         return false;
     }
 
+    /**
+     * 扫掠检测：半径 r 的圆心从 (x, y) 沿 (dx, dy) 移动，与矩形 [minX, maxX] x [minY, maxY] 的首次接触时间
+     * 返回 [0, 1] 内的碰撞时刻（起点即重叠时为 0），不相交返回 -1
+     * 做法：与按 r 外扩的矩形做射线求交，命中点落在角区时改为与该角的圆求交
+     */
+    public static float sweepCircleBox(float x, float y, float r, float dx, float dy,
+                                       float minX, float minY, float maxX, float maxY) {
+        // 起点已重叠
+        float cx = Math.max(minX, Math.min(x, maxX));
+        float cy = Math.max(minY, Math.min(y, maxY));
+        if ((x - cx) * (x - cx) + (y - cy) * (y - cy) <= r * r) {
+            return 0f;
+        }
+
+        // 射线与外扩矩形的 slab 求交
+        float tEnter = 0f, tExit = 1f;
+        if (dx == 0) {
+            if (x < minX - r || x > maxX + r) return -1f;
+        } else {
+            float t1 = (minX - r - x) / dx;
+            float t2 = (maxX + r - x) / dx;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y < minY - r || y > maxY + r) return -1f;
+        } else {
+            float t1 = (minY - r - y) / dy;
+            float t2 = (maxY + r - y) / dy;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (tEnter > tExit) return -1f;
+
+        // 命中点在边区直接返回；在角区则与角上的圆求交
+        float hx = x + dx * tEnter;
+        float hy = y + dy * tEnter;
+        boolean left = hx < minX, right = hx > maxX;
+        boolean below = hy < minY, above = hy > maxY;
+        if (!((left || right) && (below || above))) {
+            return tEnter;
+        }
+        return sweepCircleCircle(x, y, dx, dy, left ? minX : maxX, below ? minY : maxY, r);
+    }
+
+    /**
+     * 点 (x, y) 沿 (dx, dy) 移动，首次进入以 (px, py) 为圆心、半径 r 的圆的时刻，[0, 1] 内无交点返回 -1
+     */
+    public static float sweepCircleCircle(float x, float y, float dx, float dy, float px, float py, float r) {
+        float mx = x - px, my = y - py;
+        float a = dx * dx + dy * dy;
+        float b = mx * dx + my * dy;
+        float c = mx * mx + my * my - r * r;
+        if (c <= 0) return 0f;
+        if (a == 0 || b >= 0) return -1f;
+        float disc = b * b - a * c;
+        if (disc < 0) return -1f;
+        float t = (-b - (float) Math.sqrt(disc)) / a;
+        return t <= 1f ? Math.max(0f, t) : -1f;
+    }
+
     public void setRenderer(IRenderer renderer) {
         this.renderer = renderer;
     }
@@ -157,28 +231,118 @@ public class ColliderComponent extends Component<ColliderComponent> {
         this.showBound = showBound;
     }
 
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * 为高速物体开启连续碰撞检测（目前支持圆形对矩形）
+     */
+    public void setContinuous(boolean continuous) {
+        this.continuous = continuous;
+    }
+
+    /**
+     * 放入指定层：分类位取该层的位，掩码跟随层对矩阵（之后修改矩阵对已有碰撞体同样生效），并清除 setMask 的覆盖
+     */
+    public void setLayer(CollisionLayer layer) {
+        this.layer = layer;
+        this.category = layer.getBit();
+        this.maskOverridden = false;
+    }
+
+    public CollisionLayer getLayer() {
+        return layer;
+    }
+
+    public int getCategory() {
+        return category;
+    }
+
+    /**
+     * 直接设置分类位（可以同时属于多层），不改变 getLayer
+     */
+    public void setCategory(int category) {
+        this.category = category;
+    }
+
+    public int getMask() {
+        return maskOverridden ? mask : layer.getMask();
+    }
+
+    /**
+     * 直接设置掩码，覆盖层对矩阵的设置（再次 setLayer 时恢复跟随矩阵）
+     */
+    public void setMask(int mask) {
+        this.mask = mask;
+        this.maskOverridden = true;
+    }
+
+    /**
+     * 两个碰撞体的层是否允许碰撞
+     */
+    public boolean canCollideWith(ColliderComponent other) {
+        return CollisionLayer.accepts(category, getMask(), other.category, other.getMask());
+    }
+
     public void setOffset(Vector2 offset) {
+        if (storage != null) {
+            float[] o = storage.getColliderOffsets();
+            o[2 * storageRow] = offset.x;
+            o[2 * storageRow + 1] = offset.y;
+            return;
+        }
         this.offset = offset;
     }
     public Vector2 getOffset() {
+        if (storage != null) {
+            float[] o = storage.getColliderOffsets();
+            return new Vector2(o[2 * storageRow], o[2 * storageRow + 1]);
+        }
         return offset;
     }
+    public float getOffsetX() {
+        if (storage != null) return storage.getColliderOffsets()[2 * storageRow];
+        return offset.x;
+    }
+    public float getOffsetY() {
+        if (storage != null) return storage.getColliderOffsets()[2 * storageRow + 1];
+        return offset.y;
+    }
     public float getWidth() {
+        if (storage != null) return storage.getColliderSizes()[2 * storageRow];
         return width;
     }
     public float getHeight() {
+        if (storage != null) return storage.getColliderSizes()[2 * storageRow + 1];
         return height;
     }
     public float getRadius() {
+        if (storage != null) return storage.getColliderRadii()[storageRow];
         return radius;
     }
     public void setWidth(float width) {
+        if (storage != null) {
+            storage.getColliderSizes()[2 * storageRow] = width;
+            return;
+        }
         this.width = width;
     }
     public void setHeight(float height) {
+        if (storage != null) {
+            storage.getColliderSizes()[2 * storageRow + 1] = height;
+            return;
+        }
         this.height = height;
     }
     public void setRadius(float radius) {
+        if (storage != null) {
+            storage.getColliderRadii()[storageRow] = radius;
+            return;
+        }
         this.radius = radius;
     }
+    public ColliderType getColliderType() {
+        return colliderType;
+    }
 }
@@ -5,7 +5,6 @@ import java.util.List;
 import com.gameengine.core.Component;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
 public class EnemyController extends Component<EnemyController> {
@@ -51,7 +50,14 @@ public class EnemyController extends Component<EnemyController> {
     }
 
     public void ChasingPlayer(){
-        Vector2 direction = playerTransform.getPosition().subtract(transform.getPosition()).normalize();
-        physics.setVelocity(speed * direction.x, speed * direction.y);
+        float dx = playerTransform.getX() - transform.getX();
+        float dy = playerTransform.getY() - transform.getY();
+        float magSq = dx * dx + dy * dy;
+        if (magSq == 0) {
+            physics.setVelocity(0, 0);
+            return;
+        }
+        float k = speed / (float) Math.sqrt(magSq);
+        physics.setVelocity(k * dx, k * dy);
     }
 }
@@ -2,10 +2,12 @@ package com.gameengine.components;
 
 import java.awt.image.BufferedImage;
 
+import com.gameengine.collision.CollisionLayer;
 import com.gameengine.graphics.IRenderer;
 
 import com.gameengine.core.Component;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameObjectPool;
 import com.gameengine.core.SpriteLoader;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
@@ -19,6 +21,7 @@ public class FireballComponent extends Component<FireballComponent> {
     private IRenderer renderer;
 
     private int fireballIdTop = 0;
+    private GameObjectPool pool;
 
     public FireballComponent(float cooldown, float speed) {
         this.sl = SpriteLoader.getInstance();
@@ -57,25 +60,44 @@ public class FireballComponent extends Component<FireballComponent> {
         TransformComponent playerTransform = player.getComponent(TransformComponent.class);
         if (playerTransform == null)
             return;
-        GameObject fireball = new GameObject("Fireball") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
-
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
+        GameObject fireball = getPool().acquire();
         fireball.setId(fireballIdTop);
         fireballIdTop++;
 
-        Vector2 position = new Vector2(playerTransform.getPosition());
+        Vector2 position = playerTransform.getPosition();
+
+        TransformComponent transform = fireball.getComponent(TransformComponent.class);
+        transform.setPosition(position);
+
+        RenderComponent render = fireball.getComponent(RenderComponent.class);
+        float angle = (float) Math.toDegrees(Math.atan2(mousePos.y - position.y, mousePos.x - position.x));
+        render.setRotation(angle);
+
+        PhysicsComponent physics = fireball.getComponent(PhysicsComponent.class);
+        Vector2 direction = mousePos.subtract(position).normalize();
+        physics.setVelocity(direction.multiply(speed));
+
+        scene.addGameObject(fireball);
+    }
+
+    /**
+     * 火球对象池，首次使用时创建
+     */
+    public GameObjectPool getPool() {
+        if (pool == null) {
+            pool = new GameObjectPool("Fireball", this::buildFireball, FireballComponent::resetFireball, 512);
+        }
+        return pool;
+    }
+
+    /**
+     * 创建火球对象及其组件（仅在池未命中时调用）
+     */
+    private GameObject buildFireball() {
+        GameObject fireball = new GameObject("Fireball");
 
         // 添加变换组件
-        TransformComponent transform = fireball.addComponent(new TransformComponent(position));
+        TransformComponent transform = fireball.addComponent(new TransformComponent(new Vector2()));
         transform.setScale(new Vector2(20, 20));
         // transform.setRotation(0);
 
@@ -85,14 +107,10 @@ public class FireballComponent extends Component<FireballComponent> {
                 transform.getScale(),
                 "FireballImage"));
         render.setRenderer(renderer);
-        float angle = (float) Math.toDegrees(Math.atan2(mousePos.y - position.y, mousePos.x - position.x));
-        render.setRotation(angle);
 
         // 添加物理组件
         PhysicsComponent physics = fireball.addComponent(new PhysicsComponent(0.5f));
         physics.setFriction(1);
-        Vector2 direction = mousePos.subtract(position).normalize();
-        physics.setVelocity(direction.multiply(speed));
 
         // 添加碰撞组件
         ColliderComponent collider = fireball.addComponent(new ColliderComponent(
@@ -100,9 +118,17 @@ public class FireballComponent extends Component<FireballComponent> {
                 5,
                 new Vector2(0, 0)));
         // collider.setShowBound(true);
+        collider.setLayer(CollisionLayer.FIREBALL);
         collider.setRenderer(renderer);
+        // 火球速度快，低帧率下可能直接穿过敌人，开启连续碰撞检测
+        collider.setContinuous(true);
+        return fireball;
+    }
 
-        scene.addGameObject(fireball);
+    private static void resetFireball(GameObject fireball) {
+        PhysicsComponent physics = fireball.getComponent(PhysicsComponent.class);
+        physics.setVelocity(0, 0);
+        physics.setAcceleration(new Vector2());
     }
 
     public boolean canShoot() {
@@ -10,6 +10,10 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     private float friction;
     private boolean useGravity;
     private Vector2 gravity;
+    // 休眠：低速持续若干步后不再积分，受力、冲量、设置速度或碰撞时唤醒（原型存储中由列记录）
+    private boolean sleeping;
+    private int restTicks;
+    private boolean allowSleep;
     
     public PhysicsComponent() {
         this.velocity = new Vector2();
@@ -18,6 +22,9 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
         this.friction = 0.9f;
         this.useGravity = false;
         this.gravity = new Vector2(0, 9.8f);
+        this.sleeping = false;
+        this.restTicks = 0;
+        this.allowSleep = true;
     }
     
     public PhysicsComponent(float mass) {
@@ -38,43 +45,120 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     }
     
     public void applyForce(Vector2 force) {
+        applyForce(force.x, force.y);
+    }
+    
+    public void applyForce(float fx, float fy) {
+        if (fx == 0 && fy == 0) return;
+        wakeUp();
         if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+            addAcceleration(fx / mass, fy / mass);
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
+        applyImpulse(impulse.x, impulse.y);
+    }
+    
+    public void applyImpulse(float ix, float iy) {
+        if (ix == 0 && iy == 0) return;
+        wakeUp();
         if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+            addVelocity(ix / mass, iy / mass);
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        if (x != getVelocityX() || y != getVelocityY()) {
+            wakeUp();
+        }
+        if (storage != null) {
+            float[] v = storage.getVelocities();
+            v[2 * storageRow] = x;
+            v[2 * storageRow + 1] = y;
+            return;
+        }
+        velocity.x = x;
+        velocity.y = y;
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        setAcceleration(acceleration.x, acceleration.y);
+    }
+    
+    public void setAcceleration(float x, float y) {
+        if (x != 0 || y != 0) {
+            wakeUp();
+        }
+        if (storage != null) {
+            float[] a = storage.getAccelerations();
+            a[2 * storageRow] = x;
+            a[2 * storageRow + 1] = y;
+            return;
+        }
+        acceleration.x = x;
+        acceleration.y = y;
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        addVelocity(delta.x, delta.y);
+    }
+    
+    /**
+     * 原地累加速度（不分配对象）
+     */
+    public void addVelocity(float dx, float dy) {
+        if (dx == 0 && dy == 0) return;
+        wakeUp();
+        if (storage != null) {
+            float[] v = storage.getVelocities();
+            v[2 * storageRow] += dx;
+            v[2 * storageRow + 1] += dy;
+            return;
+        }
+        velocity.x += dx;
+        velocity.y += dy;
+    }
+    
+    /**
+     * 原地累加加速度（不分配对象）
+     */
+    public void addAcceleration(float dx, float dy) {
+        if (dx == 0 && dy == 0) return;
+        wakeUp();
+        if (storage != null) {
+            float[] a = storage.getAccelerations();
+            a[2 * storageRow] += dx;
+            a[2 * storageRow + 1] += dy;
+            return;
+        }
+        acceleration.x += dx;
+        acceleration.y += dy;
     }
     
     public void setGravity(Vector2 gravity) {
         this.gravity = new Vector2(gravity);
+        if (storage != null) {
+            storage.refreshGravity(storageRow);
+        }
     }
     
     public void setUseGravity(boolean useGravity) {
         this.useGravity = useGravity;
+        if (storage != null) {
+            storage.refreshGravity(storageRow);
+        }
     }
     
     public void setFriction(float friction) {
         this.friction = Math.max(0, Math.min(1, friction));
+        if (storage != null) {
+            storage.getFrictions()[storageRow] = this.friction;
+        }
     }
     
     public void setMass(float mass) {
@@ -82,13 +166,46 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     }
     
     public Vector2 getVelocity() {
+        if (storage != null) {
+            float[] v = storage.getVelocities();
+            return new Vector2(v[2 * storageRow], v[2 * storageRow + 1]);
+        }
         return new Vector2(velocity);
     }
     
     public Vector2 getAcceleration() {
+        if (storage != null) {
+            float[] a = storage.getAccelerations();
+            return new Vector2(a[2 * storageRow], a[2 * storageRow + 1]);
+        }
         return new Vector2(acceleration);
     }
     
+    // 分量访问，不分配对象
+    public float getVelocityX() {
+        return storage != null ? storage.getVelocities()[2 * storageRow] : velocity.x;
+    }
+    
+    public float getVelocityY() {
+        return storage != null ? storage.getVelocities()[2 * storageRow + 1] : velocity.y;
+    }
+    
+    public float getAccelerationX() {
+        return storage != null ? storage.getAccelerations()[2 * storageRow] : acceleration.x;
+    }
+    
+    public float getAccelerationY() {
+        return storage != null ? storage.getAccelerations()[2 * storageRow + 1] : acceleration.y;
+    }
+    
+    public float getGravityX() {
+        return gravity.x;
+    }
+    
+    public float getGravityY() {
+        return gravity.y;
+    }
+    
     public float getMass() {
         return mass;
     }
@@ -104,4 +221,80 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     public Vector2 getGravity() {
         return new Vector2(gravity);
     }
+    
+    public boolean isSleeping() {
+        if (storage != null) return storage.isSleeping(storageRow);
+        return sleeping;
+    }
+    
+    /**
+     * 唤醒：休眠中的物体重新参与积分，静止计数清零；未休眠时无操作
+     */
+    public void wakeUp() {
+        if (storage != null) {
+            if (storage.isSleeping(storageRow)) {
+                storage.wake(storageRow);
+            }
+            return;
+        }
+        if (sleeping) {
+            sleeping = false;
+            restTicks = 0;
+        }
+    }
+    
+    /**
+     * 进入休眠：速度与加速度清零，停止积分
+     */
+    public void sleep() {
+        if (!allowSleep || !enabled) return;
+        if (storage != null) {
+            storage.sleep(storageRow);
+            return;
+        }
+        velocity.x = 0;
+        velocity.y = 0;
+        acceleration.x = 0;
+        acceleration.y = 0;
+        sleeping = true;
+    }
+    
+    /**
+     * 记录一步的运动状态，返回连续静止的步数（运动时清零）
+     */
+    public int accumulateRest(boolean resting) {
+        if (storage != null) {
+            int[] ticks = storage.getRestTicks();
+            return ticks[storageRow] = resting ? ticks[storageRow] + 1 : 0;
+        }
+        restTicks = resting ? restTicks + 1 : 0;
+        return restTicks;
+    }
+    
+    public int getRestTicks() {
+        if (storage != null) return storage.getRestTicks()[storageRow];
+        return restTicks;
+    }
+    
+    /**
+     * 直接恢复休眠状态（原型存储解绑时回写用，不触发唤醒）
+     */
+    public void setSleepState(boolean sleeping, int restTicks) {
+        this.sleeping = sleeping;
+        this.restTicks = restTicks;
+    }
+    
+    public boolean isAllowSleep() {
+        return allowSleep;
+    }
+    
+    /**
+     * 是否允许休眠；关闭时立即唤醒
+     */
+    public void setAllowSleep(boolean allowSleep) {
+        this.allowSleep = allowSleep;
+        if (!allowSleep) {
+            wakeUp();
+        }
+    }
 }
@@ -5,7 +5,6 @@ import com.gameengine.core.GameObject;
 import com.gameengine.core.SpriteLoader;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
-import org.lwjgl.opengl.GL11;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
@@ -104,7 +103,9 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        Vector2 position = transform.getPosition();
+        // 固定步长模式下在上一步与当前步之间插值
+        float alpha = owner.getScene() != null ? owner.getScene().getRenderAlpha() : 1.0f;
+        Vector2 position = transform.getInterpolatedPosition(alpha);
         
         switch (renderType) {
             case RECTANGLE:
@@ -121,34 +122,11 @@ public class RenderComponent extends Component<RenderComponent> {
                                 color.r, color.g, color.b, color.a);
                 break;
             case IMAGE:
-                drawRotatedImage(position.x - size.x/2, position.y - size.x/2, size.x, size.y, image, rotation);
+                renderer.drawImage(position.x - size.x/2, position.y - size.x/2, size.x, size.y, image, rotation);
                 break;
         }
     }
 
-    private void drawRotatedImage(float x, float y, float width, float height, BufferedImage image, float angle){
-        GL11.glPushMatrix();
-
-        try {
-            // 2. 平移到图像中心（旋转中心为图像中心）
-            float centerX = x + width / 2;
-            float centerY = y + height / 2;
-            GL11.glTranslatef(centerX, centerY, 0.0f);
-
-            // 3. 旋转（OpenGL 角度为弧度，顺时针旋转需负号，适配屏幕 Y 轴向下）
-            float radians = (float) Math.toRadians(angle);
-            GL11.glRotatef((float) Math.toDegrees(radians), 0.0f, 0.0f, 1.0f);
-
-            // 4. 平移回原始位置（抵消之前的中心平移）
-            GL11.glTranslatef(-centerX, -centerY, 0.0f);
-
-            renderer.drawImage(x, y, width, height, image);
-        } finally {
-            // 6. 恢复矩阵状态（必须执行，避免状态污染）
-            GL11.glPopMatrix();
-        }
-    }
-    
     /**
      * 设置渲染器
      */
@@ -6,14 +6,18 @@ import com.gameengine.math.Vector2;
 
 /**
  * 变换组件，管理位置、旋转、缩放
+ * 绑定到原型存储时，位置与缩放读写存储中的列
  */
 public class TransformComponent extends Component<TransformComponent> {
     private Vector2 position;
+    // 上一个模拟步开始时的位置，渲染时在两步之间插值
+    private Vector2 previousPosition;
     private Vector2 scale;
     private float rotation;
     
     public TransformComponent() {
         this.position = new Vector2();
+        this.previousPosition = new Vector2();
         this.scale = new Vector2(1, 1);
         this.rotation = 0;
     }
@@ -21,10 +25,12 @@ public class TransformComponent extends Component<TransformComponent> {
     public TransformComponent(Vector2 position) {
         this();
         this.position = new Vector2(position);
+        this.previousPosition = new Vector2(position);
     }
     
     public TransformComponent(Vector2 position, Vector2 scale, float rotation) {
         this.position = new Vector2(position);
+        this.previousPosition = new Vector2(position);
         this.scale = new Vector2(scale);
         this.rotation = rotation;
     }
@@ -48,14 +54,28 @@ public class TransformComponent extends Component<TransformComponent> {
      * 移动到指定位置
      */
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition);
     }
     
     /**
      * 移动相对距离
      */
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        translate(delta.x, delta.y);
+    }
+    
+    /**
+     * 原地移动相对距离（不分配对象）
+     */
+    public void translate(float dx, float dy) {
+        if (storage != null) {
+            float[] p = storage.getPositions();
+            p[2 * storageRow] += dx;
+            p[2 * storageRow + 1] += dy;
+            return;
+        }
+        position.x += dx;
+        position.y += dy;
     }
     
     /**
@@ -76,30 +96,134 @@ public class TransformComponent extends Component<TransformComponent> {
      * 缩放
      */
     public void scale(Vector2 scaleFactor) {
-        this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        Vector2 current = getScale();
+        setScale(new Vector2(current.x * scaleFactor.x, current.y * scaleFactor.y));
     }
     
     /**
      * 设置缩放
      */
     public void setScale(Vector2 newScale) {
-        this.scale = new Vector2(newScale);
+        if (storage != null) {
+            float[] s = storage.getScales();
+            s[2 * storageRow] = newScale.x;
+            s[2 * storageRow + 1] = newScale.y;
+            return;
+        }
+        scale.x = newScale.x;
+        scale.y = newScale.y;
     }
     
     // Getters and Setters
     public Vector2 getPosition() {
+        if (storage != null) {
+            float[] p = storage.getPositions();
+            return new Vector2(p[2 * storageRow], p[2 * storageRow + 1]);
+        }
         return new Vector2(position);
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    /**
+     * 原地设置位置（不分配对象）
+     */
+    public void setPosition(float x, float y) {
+        if (storage != null) {
+            float[] p = storage.getPositions();
+            p[2 * storageRow] = x;
+            p[2 * storageRow + 1] = y;
+            return;
+        }
+        position.x = x;
+        position.y = y;
+    }
+    
+    // 分量访问，不分配对象
+    public float getX() {
+        return storage != null ? storage.getPositions()[2 * storageRow] : position.x;
+    }
+    
+    public float getY() {
+        return storage != null ? storage.getPositions()[2 * storageRow + 1] : position.y;
+    }
+    
+    public float getScaleX() {
+        return storage != null ? storage.getScales()[2 * storageRow] : scale.x;
+    }
+    
+    public float getScaleY() {
+        return storage != null ? storage.getScales()[2 * storageRow + 1] : scale.y;
     }
     
     public Vector2 getScale() {
+        if (storage != null) {
+            float[] s = storage.getScales();
+            return new Vector2(s[2 * storageRow], s[2 * storageRow + 1]);
+        }
         return new Vector2(scale);
     }
     
     public float getRotation() {
         return rotation;
     }
+
+    /**
+     * 记录当前位置为上一步位置（每个模拟步开始时由 Scene 调用）
+     */
+    public void storePreviousPosition() {
+        if (storage != null) {
+            float[] p = storage.getPositions();
+            float[] prev = storage.getPreviousPositions();
+            prev[2 * storageRow] = p[2 * storageRow];
+            prev[2 * storageRow + 1] = p[2 * storageRow + 1];
+            return;
+        }
+        previousPosition.x = position.x;
+        previousPosition.y = position.y;
+    }
+    
+    public Vector2 getPreviousPosition() {
+        if (storage != null) {
+            float[] prev = storage.getPreviousPositions();
+            return new Vector2(prev[2 * storageRow], prev[2 * storageRow + 1]);
+        }
+        return new Vector2(previousPosition);
+    }
+    
+    public float getPreviousX() {
+        if (storage != null) return storage.getPreviousPositions()[2 * storageRow];
+        return previousPosition.x;
+    }
+    
+    public float getPreviousY() {
+        if (storage != null) return storage.getPreviousPositions()[2 * storageRow + 1];
+        return previousPosition.y;
+    }
+    
+    /**
+     * 获取上一步与当前位置之间的插值位置，alpha 为 1 时即当前位置
+     */
+    public Vector2 getInterpolatedPosition(float alpha) {
+        if (alpha >= 1.0f) {
+            return getPosition();
+        }
+        float px, py, cx, cy;
+        if (storage != null) {
+            float[] p = storage.getPositions();
+            float[] prev = storage.getPreviousPositions();
+            px = prev[2 * storageRow];
+            py = prev[2 * storageRow + 1];
+            cx = p[2 * storageRow];
+            cy = p[2 * storageRow + 1];
+        } else {
+            px = previousPosition.x;
+            py = previousPosition.y;
+            cx = position.x;
+            cy = position.y;
+        }
+        return new Vector2(px + (cx - px) * alpha, py + (cy - py) * alpha);
+    }
 }
@@ -0,0 +1,424 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.math.Vector2;
+
+/**
+ * 原型（Archetype）：组件组合相同的实体共用一组连续的 float[] 列
+ * 二维量按 x,y 交错存放，第 row 个实体的 x 位于 [2*row]，y 位于 [2*row+1]
+ * 对应组件绑定后只作为句柄，读写都落到这里的列上
+ */
+public class Archetype {
+    public static final int TRANSFORM = 1;
+    public static final int PHYSICS = 1 << 1;
+    public static final int COLLIDER = 1 << 2;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int signature;
+    private int size;
+    private int capacity;
+
+    private GameObject[] owners;
+    private TransformComponent[] transforms;
+    private PhysicsComponent[] physics;
+    private ColliderComponent[] colliders;
+
+    // Transform 列
+    private float[] positions;
+    private float[] previousPositions;
+    private float[] scales;
+
+    // Physics 列（gravities 存放生效重力，未启用重力时为 0）
+    private float[] velocities;
+    private float[] accelerations;
+    private float[] gravities;
+    private float[] frictions;
+    private boolean[] physicsEnabled;
+    // 参与积分的行：启用且未休眠；restTicks 为连续低速的步数
+    private boolean[] physicsActive;
+    private int[] restTicks;
+
+    // Collider 列
+    private float[] colliderSizes;
+    private float[] colliderOffsets;
+    private float[] colliderRadii;
+    private ColliderComponent.ColliderType[] colliderTypes;
+    private boolean[] colliderEnabled;
+
+    public Archetype(int signature) {
+        this.signature = signature;
+        this.size = 0;
+        this.capacity = 0;
+        grow(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 根据对象持有的组件计算原型签名
+     */
+    public static int signatureOf(GameObject obj) {
+        int signature = 0;
+        if (obj.getComponent(TransformComponent.class) != null) signature |= TRANSFORM;
+        if (obj.getComponent(PhysicsComponent.class) != null) signature |= PHYSICS;
+        if (obj.getComponent(ColliderComponent.class) != null) signature |= COLLIDER;
+        return signature;
+    }
+
+    public int getSignature() {
+        return signature;
+    }
+
+    public boolean has(int mask) {
+        return (signature & mask) == mask;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 追加实体：把组件当前状态拷入列，然后把组件绑定到新行
+     */
+    int add(GameObject obj) {
+        if (size == capacity) {
+            grow(capacity * 2);
+        }
+        int row = size++;
+        owners[row] = obj;
+        if (has(TRANSFORM)) {
+            TransformComponent t = obj.getComponent(TransformComponent.class);
+            Vector2 p = t.getPosition();
+            Vector2 s = t.getScale();
+            positions[2 * row] = p.x;
+            positions[2 * row + 1] = p.y;
+            previousPositions[2 * row] = p.x;
+            previousPositions[2 * row + 1] = p.y;
+            scales[2 * row] = s.x;
+            scales[2 * row + 1] = s.y;
+            transforms[row] = t;
+            bind(t, this, row);
+        }
+        if (has(PHYSICS)) {
+            PhysicsComponent ph = obj.getComponent(PhysicsComponent.class);
+            Vector2 v = ph.getVelocity();
+            Vector2 a = ph.getAcceleration();
+            velocities[2 * row] = v.x;
+            velocities[2 * row + 1] = v.y;
+            accelerations[2 * row] = a.x;
+            accelerations[2 * row + 1] = a.y;
+            frictions[row] = ph.getFriction();
+            physicsEnabled[row] = ph.isEnabled();
+            physicsActive[row] = ph.isEnabled() && !ph.isSleeping();
+            restTicks[row] = ph.getRestTicks();
+            physics[row] = ph;
+            bind(ph, this, row);
+            refreshGravity(row);
+        }
+        if (has(COLLIDER)) {
+            ColliderComponent c = obj.getComponent(ColliderComponent.class);
+            Vector2 o = c.getOffset();
+            colliderSizes[2 * row] = c.getWidth();
+            colliderSizes[2 * row + 1] = c.getHeight();
+            colliderOffsets[2 * row] = o.x;
+            colliderOffsets[2 * row + 1] = o.y;
+            colliderRadii[row] = c.getRadius();
+            colliderTypes[row] = c.getColliderType();
+            colliderEnabled[row] = c.isEnabled();
+            colliders[row] = c;
+            bind(c, this, row);
+        }
+        return row;
+    }
+
+    /**
+     * 移除实体：把列中的状态写回组件并解绑，再用末行填补空位
+     * @return 被移动到 row 的实体，没有发生移动时返回 null
+     */
+    GameObject remove(int row) {
+        if (has(TRANSFORM)) {
+            TransformComponent t = transforms[row];
+            float px = positions[2 * row], py = positions[2 * row + 1];
+            float sx = scales[2 * row], sy = scales[2 * row + 1];
+            bind(t, null, -1);
+            t.setPosition(new Vector2(px, py));
+            t.storePreviousPosition();
+            t.setScale(new Vector2(sx, sy));
+        }
+        if (has(PHYSICS)) {
+            PhysicsComponent ph = physics[row];
+            float vx = velocities[2 * row], vy = velocities[2 * row + 1];
+            float ax = accelerations[2 * row], ay = accelerations[2 * row + 1];
+            float friction = frictions[row];
+            boolean sleeping = physicsEnabled[row] && !physicsActive[row];
+            int rest = restTicks[row];
+            bind(ph, null, -1);
+            ph.setVelocity(vx, vy);
+            ph.setAcceleration(new Vector2(ax, ay));
+            ph.setFriction(friction);
+            ph.setSleepState(sleeping, rest);
+        }
+        if (has(COLLIDER)) {
+            ColliderComponent c = colliders[row];
+            float w = colliderSizes[2 * row], h = colliderSizes[2 * row + 1];
+            float ox = colliderOffsets[2 * row], oy = colliderOffsets[2 * row + 1];
+            float r = colliderRadii[row];
+            bind(c, null, -1);
+            c.setWidth(w);
+            c.setHeight(h);
+            c.setOffset(new Vector2(ox, oy));
+            c.setRadius(r);
+        }
+
+        int last = --size;
+        GameObject moved = null;
+        if (row != last) {
+            moveRow(last, row);
+            moved = owners[row];
+        }
+        clearRow(last);
+        return moved;
+    }
+
+    private void moveRow(int from, int to) {
+        owners[to] = owners[from];
+        if (has(TRANSFORM)) {
+            copy2(positions, from, to);
+            copy2(previousPositions, from, to);
+            copy2(scales, from, to);
+            transforms[to] = transforms[from];
+            bind(transforms[to], this, to);
+        }
+        if (has(PHYSICS)) {
+            copy2(velocities, from, to);
+            copy2(accelerations, from, to);
+            copy2(gravities, from, to);
+            frictions[to] = frictions[from];
+            physicsEnabled[to] = physicsEnabled[from];
+            physicsActive[to] = physicsActive[from];
+            restTicks[to] = restTicks[from];
+            physics[to] = physics[from];
+            bind(physics[to], this, to);
+        }
+        if (has(COLLIDER)) {
+            copy2(colliderSizes, from, to);
+            copy2(colliderOffsets, from, to);
+            colliderRadii[to] = colliderRadii[from];
+            colliderTypes[to] = colliderTypes[from];
+            colliderEnabled[to] = colliderEnabled[from];
+            colliders[to] = colliders[from];
+            bind(colliders[to], this, to);
+        }
+    }
+
+    private void clearRow(int row) {
+        owners[row] = null;
+        if (transforms != null) transforms[row] = null;
+        if (physics != null) physics[row] = null;
+        if (colliders != null) {
+            colliders[row] = null;
+            colliderTypes[row] = null;
+        }
+    }
+
+    private static void bind(Component<?> component, Archetype archetype, int row) {
+        component.bindStorage(archetype, row);
+    }
+
+    private static void copy2(float[] column, int from, int to) {
+        column[2 * to] = column[2 * from];
+        column[2 * to + 1] = column[2 * from + 1];
+    }
+
+    private void grow(int newCapacity) {
+        owners = resize(owners, new GameObject[newCapacity]);
+        if (has(TRANSFORM)) {
+            transforms = resize(transforms, new TransformComponent[newCapacity]);
+            positions = resize(positions, 2 * newCapacity);
+            previousPositions = resize(previousPositions, 2 * newCapacity);
+            scales = resize(scales, 2 * newCapacity);
+        }
+        if (has(PHYSICS)) {
+            physics = resize(physics, new PhysicsComponent[newCapacity]);
+            velocities = resize(velocities, 2 * newCapacity);
+            accelerations = resize(accelerations, 2 * newCapacity);
+            gravities = resize(gravities, 2 * newCapacity);
+            frictions = resize(frictions, newCapacity);
+            physicsEnabled = resize(physicsEnabled, newCapacity);
+            physicsActive = resize(physicsActive, newCapacity);
+            restTicks = resize(restTicks, newCapacity);
+        }
+        if (has(COLLIDER)) {
+            colliders = resize(colliders, new ColliderComponent[newCapacity]);
+            colliderSizes = resize(colliderSizes, 2 * newCapacity);
+            colliderOffsets = resize(colliderOffsets, 2 * newCapacity);
+            colliderRadii = resize(colliderRadii, newCapacity);
+            colliderTypes = resize(colliderTypes, new ColliderComponent.ColliderType[newCapacity]);
+            colliderEnabled = resize(colliderEnabled, newCapacity);
+        }
+        capacity = newCapacity;
+    }
+
+    private static float[] resize(float[] old, int length) {
+        float[] next = new float[length];
+        if (old != null) System.arraycopy(old, 0, next, 0, old.length);
+        return next;
+    }
+
+    private static int[] resize(int[] old, int length) {
+        int[] next = new int[length];
+        if (old != null) System.arraycopy(old, 0, next, 0, old.length);
+        return next;
+    }
+
+    private static boolean[] resize(boolean[] old, int length) {
+        boolean[] next = new boolean[length];
+        if (old != null) System.arraycopy(old, 0, next, 0, old.length);
+        return next;
+    }
+
+    private static <T> T[] resize(T[] old, T[] next) {
+        if (old != null) System.arraycopy(old, 0, next, 0, old.length);
+        return next;
+    }
+
+    /**
+     * 把当前位置整列拷贝为上一步位置
+     */
+    public void snapshotPositions() {
+        if (has(TRANSFORM)) {
+            System.arraycopy(positions, 0, previousPositions, 0, 2 * size);
+        }
+    }
+
+    /**
+     * 组件启用状态变化时同步到列
+     */
+    void componentEnabledChanged(Component<?> component, int row) {
+        if (physics != null && physics[row] == component) {
+            physicsEnabled[row] = component.isEnabled();
+            physicsActive[row] = component.isEnabled();
+            restTicks[row] = 0;
+        } else if (colliders != null && colliders[row] == component) {
+            colliderEnabled[row] = component.isEnabled();
+        }
+    }
+
+    /**
+     * 重新计算某行的生效重力（PhysicsComponent 修改重力设置时调用）
+     */
+    public void refreshGravity(int row) {
+        PhysicsComponent ph = physics[row];
+        if (ph.isUseGravity()) {
+            Vector2 g = ph.getGravity();
+            gravities[2 * row] = g.x;
+            gravities[2 * row + 1] = g.y;
+        } else {
+            gravities[2 * row] = 0;
+            gravities[2 * row + 1] = 0;
+        }
+    }
+
+    // 列访问（数组可能随扩容被替换，不要跨帧缓存引用）
+    public GameObject[] getOwners() {
+        return owners;
+    }
+
+    public float[] getPositions() {
+        return positions;
+    }
+
+    public float[] getPreviousPositions() {
+        return previousPositions;
+    }
+
+    public float[] getScales() {
+        return scales;
+    }
+
+    public float[] getVelocities() {
+        return velocities;
+    }
+
+    public float[] getAccelerations() {
+        return accelerations;
+    }
+
+    public float[] getGravities() {
+        return gravities;
+    }
+
+    public float[] getFrictions() {
+        return frictions;
+    }
+
+    public boolean[] getPhysicsEnabled() {
+        return physicsEnabled;
+    }
+
+    public PhysicsComponent[] getPhysicsComponents() {
+        return physics;
+    }
+
+    /**
+     * 参与积分的行（启用且未休眠）
+     */
+    public boolean[] getPhysicsActive() {
+        return physicsActive;
+    }
+
+    public int[] getRestTicks() {
+        return restTicks;
+    }
+
+    /**
+     * 某行是否处于休眠
+     */
+    public boolean isSleeping(int row) {
+        return physicsEnabled[row] && !physicsActive[row];
+    }
+
+    /**
+     * 唤醒某行：重新参与积分并清零静止计数
+     */
+    public void wake(int row) {
+        physicsActive[row] = physicsEnabled[row];
+        restTicks[row] = 0;
+    }
+
+    /**
+     * 让某行休眠：速度、加速度清零并移出积分
+     */
+    public void sleep(int row) {
+        physicsActive[row] = false;
+        velocities[2 * row] = 0;
+        velocities[2 * row + 1] = 0;
+        accelerations[2 * row] = 0;
+        accelerations[2 * row + 1] = 0;
+    }
+
+    public ColliderComponent[] getColliders() {
+        return colliders;
+    }
+
+    public float[] getColliderSizes() {
+        return colliderSizes;
+    }
+
+    public float[] getColliderOffsets() {
+        return colliderOffsets;
+    }
+
+    public float[] getColliderRadii() {
+        return colliderRadii;
+    }
+
+    public ColliderComponent.ColliderType[] getColliderTypes() {
+        return colliderTypes;
+    }
+
+    public boolean[] getColliderEnabled() {
+        return colliderEnabled;
+    }
+}
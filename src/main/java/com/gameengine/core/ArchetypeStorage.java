@@ -0,0 +1,73 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 原型存储：按组件组合把实体分组到不同的 Archetype 中
+ * 由 Scene 在对象加入/移除时调用 attach/detach
+ */
+public class ArchetypeStorage {
+    private final Map<Integer, Archetype> archetypes;
+    private final List<Archetype> archetypeList;
+    private final List<Archetype> archetypeView;
+
+    public ArchetypeStorage() {
+        this.archetypes = new HashMap<>();
+        this.archetypeList = new ArrayList<>();
+        this.archetypeView = Collections.unmodifiableList(archetypeList);
+    }
+
+    /**
+     * 把对象放入对应原型；没有可存储组件的对象保持原样
+     */
+    public void attach(GameObject obj) {
+        if (obj.archetype != null) return;
+        int signature = Archetype.signatureOf(obj);
+        if (signature == 0) return;
+        Archetype archetype = archetypes.get(signature);
+        if (archetype == null) {
+            archetype = new Archetype(signature);
+            archetypes.put(signature, archetype);
+            archetypeList.add(archetype);
+        }
+        obj.archetype = archetype;
+        obj.archetypeRow = archetype.add(obj);
+    }
+
+    /**
+     * 把对象移出原型，组件状态写回组件本身
+     */
+    public void detach(GameObject obj) {
+        Archetype archetype = obj.archetype;
+        if (archetype == null) return;
+        GameObject moved = archetype.remove(obj.archetypeRow);
+        if (moved != null) {
+            moved.archetypeRow = obj.archetypeRow;
+        }
+        obj.archetype = null;
+        obj.archetypeRow = -1;
+    }
+
+    /**
+     * 移出全部对象
+     */
+    public void clear() {
+        for (Archetype archetype : archetypeList) {
+            GameObject[] owners = archetype.getOwners();
+            while (archetype.size() > 0) {
+                detach(owners[archetype.size() - 1]);
+            }
+        }
+    }
+
+    /**
+     * 获取全部原型（只读视图）
+     */
+    public List<Archetype> getArchetypes() {
+        return archetypeView;
+    }
+}
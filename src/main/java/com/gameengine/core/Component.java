@@ -8,6 +8,9 @@ public abstract class Component<T extends Component<T>> {
     protected GameObject owner;
     protected boolean enabled;
     protected String name;
+    // 原型存储绑定，绑定后组件状态读写 storage 的第 storageRow 行
+    protected Archetype storage;
+    protected int storageRow = -1;
     
     public Component() {
         this.enabled = true;
@@ -34,7 +37,22 @@ public abstract class Component<T extends Component<T>> {
      * 销毁组件
      */
     public void destroy() {
-        this.enabled = false;
+        setEnabled(false);
+    }
+    
+    /**
+     * 绑定/解绑原型存储（由 Archetype 调用）
+     */
+    void bindStorage(Archetype storage, int row) {
+        this.storage = storage;
+        this.storageRow = row;
+    }
+    
+    /**
+     * 是否已绑定到原型存储
+     */
+    public boolean isStorageBound() {
+        return storage != null;
     }
     
     /**
@@ -60,6 +78,9 @@ public abstract class Component<T extends Component<T>> {
     
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
+        if (storage != null) {
+            storage.componentEnabledChanged(this, storageRow);
+        }
     }
     
     public String getName() {
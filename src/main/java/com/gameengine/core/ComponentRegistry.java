@@ -0,0 +1,68 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 组件类型注册表：为每个组件类分配一个稠密的整型 id
+ * GameObject 与 Scene 用该 id 直接索引数组，取代 isInstance 线性扫描
+ */
+public final class ComponentRegistry {
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    // id 存放在 final int 字段中，getComponent 热路径上只有一次 ClassValue 查找和字段读取，没有拆箱
+    private static final class TypeId {
+        final int value;
+
+        TypeId(int value) {
+            this.value = value;
+        }
+    }
+
+    private static final ClassValue<TypeId> ids = new ClassValue<TypeId>() {
+        @Override
+        protected TypeId computeValue(Class<?> type) {
+            return new TypeId(nextId.getAndIncrement());
+        }
+    };
+
+    // 组件类自身及其父类（不含 Component）的 id，用于支持按父类查找
+    private static final ClassValue<int[]> hierarchyIds = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            List<Integer> list = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Component.class; c = c.getSuperclass()) {
+                list.add(idOf(c));
+            }
+            int[] result = new int[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = list.get(i);
+            }
+            return result;
+        }
+    };
+
+    private ComponentRegistry() {}
+
+    /**
+     * 获取组件类的类型 id（首次访问时分配）
+     */
+    public static int idOf(Class<?> componentType) {
+        return ids.get(componentType).value;
+    }
+
+    /**
+     * 获取组件类及其各级父类的类型 id
+     */
+    public static int[] hierarchyIdsOf(Class<?> componentType) {
+        return hierarchyIds.get(componentType);
+    }
+
+    /**
+     * 当前已分配的类型数量
+     */
+    public static int size() {
+        return nextId.get();
+    }
+}
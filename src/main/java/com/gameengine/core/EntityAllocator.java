@@ -0,0 +1,100 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+/**
+ * 实体分配器：全引擎共用，发放带代数的实体句柄
+ * 句柄为一个 int：低 INDEX_BITS 位是槽位下标，其余位是代数
+ * 槽位释放后代数加一，旧句柄与当前代数不符即判定为失效
+ */
+public class EntityAllocator {
+    public static final int INDEX_BITS = 20;
+    public static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    public static final int MAX_GENERATION = (1 << (31 - INDEX_BITS)) - 1;
+    /** 空句柄，任何有效句柄的代数都不为 0 */
+    public static final int NONE = 0;
+
+    private static EntityAllocator instance;
+
+    private int[] generations;
+    private int[] freeIndices;
+    private int freeCount;
+    private int nextIndex;
+    private int aliveCount;
+
+    private EntityAllocator() {
+        generations = new int[1024];
+        freeIndices = new int[256];
+        freeCount = 0;
+        nextIndex = 0;
+        aliveCount = 0;
+    }
+
+    public static synchronized EntityAllocator getInstance() {
+        if (instance == null) {
+            instance = new EntityAllocator();
+        }
+        return instance;
+    }
+
+    /**
+     * 分配一个新句柄，优先复用已释放的槽位
+     */
+    public synchronized int allocate() {
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (nextIndex > INDEX_MASK) {
+                throw new IllegalStateException("实体数量超过上限 " + (INDEX_MASK + 1));
+            }
+            index = nextIndex++;
+            if (index >= generations.length) {
+                generations = Arrays.copyOf(generations, generations.length * 2);
+            }
+            generations[index] = 1;
+        }
+        aliveCount++;
+        return pack(index, generations[index]);
+    }
+
+    /**
+     * 释放句柄，槽位代数加一使旧句柄失效；对已失效句柄无操作
+     */
+    public synchronized void release(int handle) {
+        if (!isAlive(handle)) return;
+        int index = indexOf(handle);
+        int generation = generations[index] + 1;
+        generations[index] = generation > MAX_GENERATION ? 1 : generation;
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeIndices.length * 2);
+        }
+        freeIndices[freeCount++] = index;
+        aliveCount--;
+    }
+
+    /**
+     * 句柄是否仍然有效
+     */
+    public synchronized boolean isAlive(int handle) {
+        if (handle == NONE) return false;
+        int index = indexOf(handle);
+        return index < nextIndex && generations[index] == generationOf(handle);
+    }
+
+    public synchronized int getAliveCount() {
+        return aliveCount;
+    }
+
+    public static int pack(int index, int generation) {
+        return (generation << INDEX_BITS) | index;
+    }
+
+    public static int indexOf(int handle) {
+        return handle & INDEX_MASK;
+    }
+
+    public static int generationOf(int handle) {
+        return handle >>> INDEX_BITS;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gameengine.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 帧节奏控制：按固定间隔的截止时间推进帧
+ * 先用 parkNanos 睡到截止时间前的一小段，再自旋到截止时间，兼顾精度与 CPU 占用
+ * 截止时间按目标间隔累加（不按实际唤醒时间），因此误差不会逐帧累积
+ */
+public class FramePacer {
+    // 距截止时间小于该值时改为自旋，覆盖 parkNanos 的唤醒抖动
+    private static final long DEFAULT_SPIN_NANOS = 500_000L;
+
+    private long frameNanos;
+    private long spinNanos;
+    private long nextDeadline;
+
+    // 统计：偏差为实际开始时间减截止时间
+    private long lastDriftNanos;
+    private long maxDriftNanos;
+    private double averageDriftNanos;
+    private long missedFrames;
+    private long frames;
+
+    public FramePacer(float targetFPS) {
+        this.spinNanos = DEFAULT_SPIN_NANOS;
+        setTargetFPS(targetFPS);
+        reset();
+    }
+
+    public void setTargetFPS(float targetFPS) {
+        this.frameNanos = (long) (1_000_000_000.0 / targetFPS);
+    }
+
+    public void setSpinNanos(long spinNanos) {
+        this.spinNanos = Math.max(0, spinNanos);
+    }
+
+    /**
+     * 重新以当前时间作为起点（例如从空闲等待恢复后）
+     */
+    public void reset() {
+        nextDeadline = System.nanoTime() + frameNanos;
+    }
+
+    /**
+     * 等待到下一帧的截止时间，返回本次偏差（纳秒）
+     */
+    public long waitForNextFrame() {
+        long deadline = nextDeadline;
+        long remaining = deadline - System.nanoTime();
+        while (remaining > spinNanos) {
+            LockSupport.parkNanos(remaining - spinNanos);
+            remaining = deadline - System.nanoTime();
+        }
+        while (remaining > 0) {
+            Thread.onSpinWait();
+            remaining = deadline - System.nanoTime();
+        }
+
+        long now = System.nanoTime();
+        long drift = now - deadline;
+        if (drift > frameNanos) {
+            // 落后超过一帧：放弃追赶，从现在重新计时
+            missedFrames++;
+            nextDeadline = now + frameNanos;
+        } else {
+            nextDeadline = deadline + frameNanos;
+        }
+
+        frames++;
+        lastDriftNanos = drift;
+        if (drift > maxDriftNanos) {
+            maxDriftNanos = drift;
+        }
+        averageDriftNanos += (drift - averageDriftNanos) * 0.05;
+        return drift;
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    public long getLastDriftNanos() {
+        return lastDriftNanos;
+    }
+
+    public long getMaxDriftNanos() {
+        return maxDriftNanos;
+    }
+
+    /**
+     * 偏差的指数滑动平均
+     */
+    public double getAverageDriftNanos() {
+        return averageDriftNanos;
+    }
+
+    public long getMissedFrames() {
+        return missedFrames;
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FramePacer target=%.2fms drift last=%dus avg=%.1fus max=%dus missed=%d/%d",
+                frameNanos / 1e6, lastDriftNanos / 1000, averageDriftNanos / 1000, maxDriftNanos / 1000, missedFrames, frames);
+    }
+}
@@ -0,0 +1,260 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.IRenderer;
+
+import java.util.Arrays;
+
+/**
+ * 帧分析器：按阶段记录耗时，写入固定大小的对数分桶直方图
+ * 记录过程不分配内存；每隔一个统计窗口把当前直方图滚动为“上一窗口”，查询返回上一窗口的 p50/p99/max
+ */
+public class FrameProfiler {
+    /**
+     * 计时阶段
+     */
+    public enum Phase {
+        SCENE_UPDATE("Scene"),
+        PHYSICS("Physics"),
+        COLLISIONS("Collisions"),
+        RECORDING("Recording"),
+        SYSTEMS("Systems"),
+        RENDER_SUBMIT("Render"),
+        BUFFER_SWAP("Swap"),
+        FRAME("Frame");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    // 每个 2 的幂区间再细分 SUB_BUCKETS 个桶，相对误差约 1/SUB_BUCKETS
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * 单个阶段的直方图，多个线程可能同时记录（同一阶段的系统并行执行时）
+     */
+    private static final class Histogram {
+        private final long[] counts = new long[BUCKET_COUNT];
+        private long total;
+        private long max;
+        private long sum;
+
+        synchronized void record(long nanos) {
+            counts[bucketOf(nanos)]++;
+            total++;
+            sum += nanos;
+            if (nanos > max) max = nanos;
+        }
+
+        synchronized void copyTo(Histogram target) {
+            System.arraycopy(counts, 0, target.counts, 0, BUCKET_COUNT);
+            target.total = total;
+            target.max = max;
+            target.sum = sum;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(counts, 0);
+            total = 0;
+            max = 0;
+            sum = 0;
+        }
+
+        synchronized long percentile(double p) {
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(total * p));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    private final Histogram[] current;
+    private final Histogram[] reported;
+    private long windowNanos;
+    private long windowStart;
+    private boolean hasReport;
+    private boolean enabled;
+    private boolean overlayVisible;
+
+    public FrameProfiler() {
+        int n = Phase.values().length;
+        this.current = new Histogram[n];
+        this.reported = new Histogram[n];
+        for (int i = 0; i < n; i++) {
+            current[i] = new Histogram();
+            reported[i] = new Histogram();
+        }
+        this.windowNanos = 2_000_000_000L;
+        this.windowStart = System.nanoTime();
+        this.hasReport = false;
+        this.enabled = true;
+        this.overlayVisible = false;
+    }
+
+    /**
+     * 当前时间戳，分析器关闭时返回 0 以省去计时
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 记录从 begin 返回的时间戳到现在的耗时
+     */
+    public void end(Phase phase, long start) {
+        if (!enabled || start == 0L) return;
+        current[phase.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public void record(Phase phase, long nanos) {
+        if (!enabled) return;
+        current[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * 每帧结束时调用：统计窗口到期后滚动直方图
+     */
+    public void endFrame() {
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos) return;
+        for (int i = 0; i < current.length; i++) {
+            current[i].copyTo(reported[i]);
+            current[i].clear();
+        }
+        windowStart = now;
+        hasReport = true;
+    }
+
+    public void reset() {
+        for (int i = 0; i < current.length; i++) {
+            current[i].clear();
+            reported[i].clear();
+        }
+        windowStart = System.nanoTime();
+        hasReport = false;
+    }
+
+    private Histogram view(Phase phase) {
+        return hasReport ? reported[phase.ordinal()] : current[phase.ordinal()];
+    }
+
+    public long getP50Nanos(Phase phase) {
+        return view(phase).percentile(0.50);
+    }
+
+    public long getP99Nanos(Phase phase) {
+        return view(phase).percentile(0.99);
+    }
+
+    public long getMaxNanos(Phase phase) {
+        Histogram h = view(phase);
+        synchronized (h) {
+            return h.max;
+        }
+    }
+
+    public double getMeanNanos(Phase phase) {
+        Histogram h = view(phase);
+        synchronized (h) {
+            return h.total == 0 ? 0.0 : (double) h.sum / h.total;
+        }
+    }
+
+    public long getSampleCount(Phase phase) {
+        Histogram h = view(phase);
+        synchronized (h) {
+            return h.total;
+        }
+    }
+
+    /**
+     * 绘制叠加层：每个阶段一行，单位毫秒
+     */
+    public void drawOverlay(IRenderer renderer, float x, float y) {
+        float lineHeight = 28.0f;
+        renderer.drawRect(x - 10, y - 24, 560, lineHeight * (Phase.values().length + 1) + 12, 0.0f, 0.0f, 0.0f, 0.6f);
+        renderer.drawText(x, y, "PHASE      P50    P99    MAX", 1.0f, 1.0f, 0.5f, 1.0f);
+        for (Phase phase : Phase.values()) {
+            y += lineHeight;
+            long p99 = getP99Nanos(phase);
+            // p99 超过 16.6ms 帧预算时标红
+            float g = p99 > 16_600_000L ? 0.3f : 1.0f;
+            renderer.drawText(x, y, String.format("%-10s %6.2f %6.2f %6.2f", phase.getLabel(),
+                    getP50Nanos(phase) / 1e6, p99 / 1e6, getMaxNanos(phase) / 1e6), 1.0f, g, g, 1.0f);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public void setOverlayVisible(boolean overlayVisible) {
+        this.overlayVisible = overlayVisible;
+    }
+
+    public void toggleOverlay() {
+        this.overlayVisible = !overlayVisible;
+    }
+
+    public void setWindowSeconds(double seconds) {
+        this.windowNanos = (long) (seconds * 1_000_000_000L);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FrameProfiler");
+        for (Phase phase : Phase.values()) {
+            sb.append(String.format(" %s[p50=%.2f p99=%.2f max=%.2f ms]", phase.getLabel(),
+                    getP50Nanos(phase) / 1e6, getP99Nanos(phase) / 1e6, getMaxNanos(phase) / 1e6));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 对数分桶：值小于 SUB_BUCKETS 时直接用值做下标，否则按最高位所在区间再细分
+     */
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = msb - SUB_BITS;
+        int sub = (int) (nanos >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的上界（含）
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = ((long) (SUB_BUCKETS + sub)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
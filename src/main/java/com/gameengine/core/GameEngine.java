@@ -5,6 +5,7 @@ import com.gameengine.graphics.RenderBackend;
 import com.gameengine.graphics.RendererFactory;
 import com.gameengine.input.InputManager;
 import com.gameengine.recording.RecordingService;
+import com.gameengine.recording.RecordingSystem;
 import com.gameengine.scene.Scene;
 
 import javax.swing.Renderer;
@@ -19,11 +20,28 @@ public class GameEngine {
     private SpriteLoader spriteLoader;
     private Scene currentScene;
     private PhysicsSystem physicsSystem;
+    private final SystemScheduler scheduler;
+    // 引擎共用的工作线程池，随引擎创建、在 cleanup 时关闭
+    private final WorkerPool workerPool;
     private boolean running;
+    // 当前场景是否已初始化并注册系统（run 或 step 首次调用时启动）
+    private boolean started;
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
     private String title;
+    // 固定步长：fixedTimestep 为每个模拟步的秒数，0 表示使用可变步长
+    private float fixedTimestep;
+    private int maxCatchUpSteps;
+    private float accumulator;
+    // 帧节奏；场景空闲时改为等待事件，最长等待 idleTimeoutSeconds
+    private final FramePacer framePacer;
+    // 分阶段耗时统计，F3 切换叠加层
+    private final FrameProfiler profiler;
+    private static final int KEY_PROFILER_TOGGLE = 292; // F3
+    // 本次 F3 按下已切换过分析器面板
+    private boolean profilerToggleConsumed;
+    private double idleTimeoutSeconds;
     private Timer gameTimer;
 
     // 添加FPS统计相关变量
@@ -33,6 +51,7 @@ public class GameEngine {
 
     // 录制
     private RecordingService recordingService;
+    private RecordingSystem recordingSystem;
     
     public GameEngine(int width, int height, String title, RenderBackend backend) {
         this.title = title;
@@ -43,6 +62,15 @@ public class GameEngine {
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
+        this.workerPool = new WorkerPool();
+        this.scheduler = new SystemScheduler(workerPool);
+        this.fixedTimestep = 0.0f;
+        this.maxCatchUpSteps = 5;
+        this.accumulator = 0.0f;
+        this.framePacer = new FramePacer(targetFPS);
+        this.profiler = new FrameProfiler();
+        this.scheduler.setProfiler(profiler);
+        this.idleTimeoutSeconds = 0.5;
 
         // 初始化FPS统计变量
         this.frameCount = 0;
@@ -67,42 +95,32 @@ public class GameEngine {
         }
         
         running = true;
+        start();
         
-        // 初始化当前场景
-        if (currentScene != null) {
-            currentScene.initialize();
-            if (currentScene.getName().equals("MainMenu")) {
-                physicsSystem = null;
-            } else {
-                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight());
-            }
-        }
-        
-        long lastFrameTime = System.nanoTime();
-        long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+        framePacer.reset();
+        lastTime = System.nanoTime();
         
         while (running) {
-            long currentTime = System.nanoTime();
-            
-            if (currentTime - lastFrameTime >= frameTimeNanos) {
-                update();
-                if (running) {
-                    render();
-                }
-                lastFrameTime = currentTime;
+            if (currentScene != null && currentScene.isIdle()) {
+                // 空闲场景：阻塞等待输入事件，超时后也刷新一帧
+                renderer.waitEvents(idleTimeoutSeconds);
+                framePacer.reset();
+            } else {
+                framePacer.waitForNextFrame();
+                renderer.pollEvents();
             }
             
-            renderer.pollEvents();
+            long frameStart = profiler.begin();
+            update();
+            if (running) {
+                render();
+            }
+            profiler.end(FrameProfiler.Phase.FRAME, frameStart);
+            profiler.endFrame();
             
             if (renderer.shouldClose()) {
                 running = false;
             }
-            
-            try {
-                Thread.sleep(1);
-            } catch (InterruptedException e) {
-                break;
-            }
         }
     }
     
@@ -124,26 +142,35 @@ public class GameEngine {
             fpsUpdateTimer = 0.0f;
         }
         
-        // 处理事件
-        renderer.pollEvents();
-        
-        // 更新场景
-        if (currentScene != null) {
-            currentScene.update(deltaTime);
+        // 固定步长下没有推进的帧不清除“刚按下”，同一次按键只切换一次
+        if (inputManager.isKeyJustPressed(KEY_PROFILER_TOGGLE) && !profilerToggleConsumed) {
+            profiler.toggleOverlay();
+            profilerToggleConsumed = true;
         }
         
-        // 物理系统更新
-        if (physicsSystem != null) {
-            physicsSystem.update(deltaTime);
-        }
-
-        if (recordingService != null && recordingService.isRecording()) {
-            recordingService.update(deltaTime, currentScene, inputManager);
+        if (fixedTimestep > 0) {
+            // 固定步长：累积真实时间，按固定步长推进模拟，最多追赶 maxCatchUpSteps 步
+            accumulator += deltaTime;
+            int steps = 0;
+            while (accumulator >= fixedTimestep && steps < maxCatchUpSteps) {
+                tick(fixedTimestep);
+                // “刚按下”只交给第一个模拟步；没有推进的帧保留输入留给下一步
+                updateInput();
+                accumulator -= fixedTimestep;
+                steps++;
+            }
+            if (accumulator >= fixedTimestep) {
+                // 追赶不上时丢弃积压的时间，避免卡顿后连续多帧都在追赶
+                accumulator %= fixedTimestep;
+            }
+            if (currentScene != null) {
+                currentScene.setRenderAlpha(accumulator / fixedTimestep);
+            }
+        } else {
+            tick(deltaTime);
+            updateInput();
         }
         
-        // 更新输入
-        inputManager.update();
-        
         // 检查退出条件
         if (inputManager.isKeyPressed(256)) { // ESC键
             running = false;
@@ -157,18 +184,111 @@ public class GameEngine {
         }
     }
     
+    /**
+     * 清除本步的“刚按下”状态
+     */
+    private void updateInput() {
+        inputManager.update();
+        profilerToggleConsumed = false;
+    }
+    
+    /**
+     * 初始化当前场景并注册系统，只执行一次
+     */
+    private void start() {
+        if (started) return;
+        started = true;
+        if (currentScene != null) {
+            currentScene.initialize();
+            rebuildSystems();
+        }
+    }
+    
+    /**
+     * 不经过帧节奏与渲染，直接推进 ticks 个模拟步，每步 dt 秒
+     * 用于无窗口模拟、压力测试和基准测试；首次调用时初始化当前场景
+     */
+    public void step(int ticks, float dt) {
+        start();
+        for (int i = 0; i < ticks; i++) {
+            tick(dt);
+            updateInput();
+        }
+        profiler.endFrame();
+        if (currentScene != null) {
+            currentScene.setRenderAlpha(1.0f);
+        }
+    }
+    
+    /**
+     * 渲染一帧当前场景（配合 step 使用）
+     */
+    public void renderFrame() {
+        render();
+    }
+    
+    /**
+     * 推进一个模拟步：场景更新后执行各系统
+     */
+    private void tick(float stepTime) {
+        if (currentScene == null) return;
+        // 上一步位置用于渲染插值与连续碰撞检测
+        currentScene.snapshotTransforms();
+        long start = profiler.begin();
+        currentScene.update(stepTime);
+        profiler.end(FrameProfiler.Phase.SCENE_UPDATE, start);
+        // 场景在 update 中切换时，调度器已按新场景重建
+        scheduler.update(stepTime);
+    }
+    
+    /**
+     * 设置固定模拟频率（每秒步数），传 0 恢复可变步长
+     */
+    public void setFixedTickRate(float ticksPerSecond) {
+        this.fixedTimestep = ticksPerSecond > 0 ? 1.0f / ticksPerSecond : 0.0f;
+        this.accumulator = 0.0f;
+        if (currentScene != null) {
+            currentScene.setRenderAlpha(1.0f);
+        }
+    }
+    
+    /**
+     * 获取固定步长（秒），0 表示可变步长
+     */
+    public float getFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    /**
+     * 设置单帧最多追赶的模拟步数
+     */
+    public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+    }
+    
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+    
     /**
      * 渲染游戏
      */
     private void render() {
+        long start = profiler.begin();
         renderer.beginFrame();
         
         // 渲染场景
         if (currentScene != null) {
             currentScene.render();
         }
+        if (profiler.isOverlayVisible()) {
+            profiler.drawOverlay(renderer, 20, renderer.getHeight() - 300);
+        }
+        profiler.end(FrameProfiler.Phase.RENDER_SUBMIT, start);
         
+        start = profiler.begin();
         renderer.endFrame();
+        profiler.end(FrameProfiler.Phase.BUFFER_SWAP, start);
     }
 
     // 添加获取当前FPS的方法
@@ -181,23 +301,50 @@ public class GameEngine {
      */
     public void setScene(Scene scene) {
         if (currentScene != null) {
-            if (physicsSystem != null) {
-                physicsSystem.cleanup();
-                physicsSystem = null;
-            }
+            physicsSystem = null;
+            scheduler.clear();
             currentScene.clear();
         }
         this.currentScene = scene;
         if (scene != null) {
-            if (running) {
+            if (started) {
                 scene.initialize();
-                if (!scene.getName().equals("MainMenu") && !scene.getName().equals("Replay")) {
-                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight());
-                }
+                rebuildSystems();
             }
         }
     }
     
+    /**
+     * 按当前场景重新注册系统：物理（菜单与回放除外）、场景自身的系统、录制
+     */
+    private void rebuildSystems() {
+        scheduler.clear();
+        if (!currentScene.getName().equals("MainMenu") && !currentScene.getName().equals("Replay")) {
+            physicsSystem = new PhysicsSystem(currentScene, workerPool, renderer.getWidth(), renderer.getHeight());
+            scheduler.addSystem(physicsSystem);
+        }
+        currentScene.registerSystems(scheduler);
+        recordingSystem = null;
+        if (recordingService != null) {
+            recordingSystem = new RecordingSystem(recordingService, currentScene, inputManager);
+            scheduler.addSystem(recordingSystem);
+        }
+    }
+    
+    /**
+     * 获取系统调度器
+     */
+    public SystemScheduler getScheduler() {
+        return scheduler;
+    }
+    
+    /**
+     * 获取引擎工作线程池
+     */
+    public WorkerPool getWorkerPool() {
+        return workerPool;
+    }
+    
     /**
      * 获取当前场景
      */
@@ -222,20 +369,24 @@ public class GameEngine {
         if (recordingService != null && recordingService.isRecording()) {
             try { recordingService.stop(); } catch (Exception ignored) {}
         }
-        if (physicsSystem != null) {
-            physicsSystem.cleanup();
-        }
         if (currentScene != null) {
             currentScene.clear();
         }
+        workerPool.shutdown();
         renderer.cleanup();
     }
 
     public void enableRecording(RecordingService service) {
+        if (recordingSystem != null) {
+            scheduler.removeSystem(recordingSystem);
+            recordingSystem = null;
+        }
         this.recordingService = service;
         try {
             if (service != null && currentScene != null) {
                 service.start(currentScene, renderer.getWidth(), renderer.getHeight());
+                recordingSystem = new RecordingSystem(service, currentScene, inputManager);
+                scheduler.addSystem(recordingSystem);
             }
         } catch (Exception e) {
             System.err.println("录制启动失败: " + e.getMessage());
@@ -246,6 +397,10 @@ public class GameEngine {
         if (recordingService != null && recordingService.isRecording()) {
             try { recordingService.stop(); } catch (Exception ignored) {}
         }
+        if (recordingSystem != null) {
+            scheduler.removeSystem(recordingSystem);
+            recordingSystem = null;
+        }
         recordingService = null;
     }
     
@@ -275,6 +430,7 @@ public class GameEngine {
      */
     public void setTargetFPS(float fps) {
         this.targetFPS = fps;
+        framePacer.setTargetFPS(fps);
         if (gameTimer != null) {
             gameTimer.setDelay((int) (1000 / fps));
         }
@@ -287,6 +443,27 @@ public class GameEngine {
         return targetFPS;
     }
     
+    /**
+     * 获取帧分析器（各阶段 p50/p99/max）
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * 获取帧节奏控制器（可查看帧偏差统计）
+     */
+    public FramePacer getFramePacer() {
+        return framePacer;
+    }
+    
+    /**
+     * 设置空闲场景等待事件的最长时间（秒），超时后仍会刷新一帧
+     */
+    public void setIdleTimeout(double seconds) {
+        this.idleTimeoutSeconds = Math.max(0.0, seconds);
+    }
+    
     /**
      * 检查引擎是否正在运行
      */
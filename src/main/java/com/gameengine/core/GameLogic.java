@@ -4,34 +4,91 @@ import com.gameengine.components.TransformComponent;
 import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.FireballComponent;
 import com.gameengine.components.PhysicsComponent;
+import com.gameengine.collision.Broadphase;
+import com.gameengine.collision.CollisionLayer;
 import com.gameengine.core.GameObject;
 import com.gameengine.input.InputManager;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * 游戏逻辑类，处理具体的游戏规则
+ * 作为系统注册到调度器，每帧在物理之后执行碰撞检测
  */
-public class GameLogic {
+public class GameLogic implements GameSystem {
+    // 读取位置与碰撞体；命中后的移除走场景命令缓冲，碰撞双方会被唤醒（写物理组件的休眠状态）
+    private static final Set<Class<?>> READS = Set.of(TransformComponent.class, ColliderComponent.class);
+    private static final Set<Class<?>> WRITES = Set.of(PhysicsComponent.class);
     private Scene scene;
-    private int score;
-    private boolean gameOver;
-    private ExecutorService physicsExecutor;
+    // 碰撞检测在多个工作线程上执行，分数与结束标记需线程安全
+    private final AtomicInteger score;
+    private volatile boolean gameOver;
+    private ParallelFor parallelFor;
+    // 碰撞体数据：中心 x, y，宽，高，半径，上一步中心 x, y
+    static final int SHAPE_STRIDE = 7;
+    private float[] fireballShapes = new float[0];
+    private ColliderComponent.ColliderType[] fireballTypes = new ColliderComponent.ColliderType[0];
+    private boolean[] fireballSleeping = new boolean[0];
+    private int[] fireballCategories = new int[0];
+    private int[] fireballMasks = new int[0];
+    // 开启连续碰撞检测的圆形火球下标
+    private int[] continuousFireballs = new int[0];
+    private int continuousCount;
+    // 火球认领标记：同一火球同时命中多个敌人时只有一个线程能认领，保证只计一次分
+    private AtomicIntegerArray fireballClaims = new AtomicIntegerArray(0);
+
+    // 碰撞双方的角色，决定碰撞后的游戏规则（是否成对由碰撞层决定）
+    private static final int ROLE_OTHER = 0;
+    private static final int ROLE_PLAYER = 1;
+    private static final int ROLE_ENEMY = 1 << 1;
+    private static final int ROLE_FIREBALL = 1 << 2;
+    // 按代理 id（实体句柄的槽位下标）存放的碰撞体数据
+    private GameObject[] slotObjects = new GameObject[0];
+    private float[] slotShapes = new float[0];
+    private ColliderComponent.ColliderType[] slotTypes = new ColliderComponent.ColliderType[0];
+    private int[] slotRoles = new int[0];
+    private boolean[] slotContinuous = new boolean[0];
+    private boolean[] slotSleeping = new boolean[0];
+    // 本帧写入过的槽位，用于重置认领标记
+    private int[] usedSlots = new int[0];
+    private int usedCount;
+    // 认领标记：火球只命中一个敌人，敌人只被一个火球击中
+    private AtomicIntegerArray slotClaims = new AtomicIntegerArray(0);
+    // 宽相输出的候选对（两个 id 一组）
+    private int[] pairs = new int[0];
+    private int pairCount;
+    private final Broadphase.PairCallback pairCollector = this::addPair;
     
-    public GameLogic(Scene scene) {
+    public GameLogic(Scene scene, WorkerPool workerPool) {
         this.scene = scene;
-        this.score = 0;
+        this.score = new AtomicInteger();
         this.gameOver = false;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1); // 20 - 1
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.parallelFor = new ParallelFor("Collisions", workerPool);
+    }
+
+    @Override
+    public Set<Class<?>> reads() {
+        return READS;
+    }
+
+    @Override
+    public Set<Class<?>> writes() {
+        return WRITES;
+    }
+
+    @Override
+    public FrameProfiler.Phase getProfilerPhase() {
+        return FrameProfiler.Phase.COLLISIONS;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        checkCollisions();
     }
 
     public boolean isGameOver() {
@@ -39,101 +96,424 @@ public class GameLogic {
     }
 
     private GameObject getPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player")) {
-                return obj;
-            }
-        }
-        return null;
+        List<GameObject> players = scene.getGameObjectsWithTag(Tag.PLAYER);
+        return players.isEmpty() ? null : players.get(0);
     }
     
+    // 敌人/火球直接使用场景的标签成员视图，失活对象在遍历时跳过
     private List<GameObject> getEnemies() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("Enemy"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.getGameObjectsWithTag(Tag.ENEMY);
     }
 
     private List<GameObject> getFireballs() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("Fireball"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.getGameObjectsWithTag(Tag.FIREBALL);
     }
 
     public void checkCollisions() {
+        // 宽相由场景选择，为 null 时逐对比较
+        Broadphase broadphase = scene.getBroadphase();
+        if (broadphase != null) {
+            checkCollisionsBroadphase(broadphase);
+            return;
+        }
         // 直接查找玩家对象
         GameObject player = getPlayer();
         if (player == null) return;
         ColliderComponent playerCollider = player.getComponent(ColliderComponent.class);
         if (playerCollider == null || !playerCollider.isEnabled()) return;
-        
+        final float[] playerShape = new float[SHAPE_STRIDE];
+        final ColliderComponent.ColliderType playerType = readShape(player, playerShape, 0);
+        if (playerType == null) return;
+        checkCollisionsBruteForce(player, playerCollider, playerType, playerShape);
+    }
+
+    /**
+     * 逐对比较：每个敌人对玩家和全部火球，与宽相路径一样先按碰撞层过滤
+     */
+    private void checkCollisionsBruteForce(GameObject player, ColliderComponent playerCollider,
+                                           ColliderComponent.ColliderType playerType, float[] playerShape) {
         // 获取敌人list
         List<GameObject> enemies = getEnemies();
-        // 获取火球list
+        // 获取火球list，并一次性收集其碰撞体数据（原型存储下直接读列）
         List<GameObject> fireballs = getFireballs();
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, enemies.size() / threadCount + 1);
-        List<Future<?>> futures = new ArrayList<>();
-
-        for (int i = 0; i < enemies.size(); i += batchSize){
-            final int start = i;
-            final int end = Math.min(i + batchSize, enemies.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
+        final int fireballCount = gatherFireballShapes(fireballs);
+        final float[] fbShapes = fireballShapes;
+        final ColliderComponent.ColliderType[] fbTypes = fireballTypes;
+        final boolean[] fbAsleep = fireballSleeping;
+        final int[] fbCategories = fireballCategories;
+        final int[] fbMasks = fireballMasks;
+        final int[] continuous = continuousFireballs;
+        final int sweptCount = continuousCount;
+        final AtomicIntegerArray claims = fireballClaims;
+        try {
+            parallelFor.invoke(enemies.size(), (start, end) -> {
+                float[] e = new float[SHAPE_STRIDE];
                 for (int j = start; j < end; j++) {
                     GameObject obj = enemies.get(j);
-                    if (playerCollider.collideWith(obj)) {
+                    if (!obj.isActive()) continue;
+                    ColliderComponent.ColliderType enemyType = readShape(obj, e, 0);
+                    if (enemyType == null) continue;
+                    ColliderComponent enemyCollider = obj.getComponent(ColliderComponent.class);
+                    int enemyCategory = enemyCollider.getCategory();
+                    int enemyMask = enemyCollider.getMask();
+                    if (playerCollider.canCollideWith(enemyCollider)
+                        && ColliderComponent.overlaps(playerType, playerShape[0], playerShape[1], playerShape[2], playerShape[3], playerShape[4],
+                                                   enemyType, e[0], e[1], e[2], e[3], e[4])) {
                         // 碰撞！结束游戏
+                        wake(player);
+                        wake(obj);
                         setScore(0);
                         gameOver = true;
                         return;
                     }
-                    for (GameObject fireball : fireballs){
-                        ColliderComponent fireballCollider = fireball.getComponent(ColliderComponent.class);
-                        if (fireballCollider.collideWith(obj)){
-                            scene.removeGameObject(obj);
-                            scene.removeGameObject(fireball);
-                            setScore(score + 1);
-                            break;
+                    int hit = -1;
+                    boolean enemyAsleep = isSleeping(obj);
+                    for (int k = 0; k < fireballCount; k++){
+                        int b = k * SHAPE_STRIDE;
+                        if (fbTypes[k] == null || (enemyAsleep && fbAsleep[k])
+                            || !CollisionLayer.accepts(fbCategories[k], fbMasks[k], enemyCategory, enemyMask)) continue;
+                        if (!ColliderComponent.overlaps(fbTypes[k], fbShapes[b], fbShapes[b + 1], fbShapes[b + 2], fbShapes[b + 3], fbShapes[b + 4],
+                                                        enemyType, e[0], e[1], e[2], e[3], e[4])) continue;
+                        if (hit < 0 && claims.compareAndSet(k, 0, 1)){
+                            hit = k;
+                            continue;
                         }
+                        // 没有认领的火球（已被其他敌人认领或本敌人已被击中）仍唤醒接触的双方
+                        wake(obj);
+                        wake(fireballs.get(k));
+                    }
+                    // 终点不相交时，高速火球再按本步的运动轨迹做扫掠检测
+                    if (hit < 0 && sweptCount > 0 && enemyType == ColliderComponent.ColliderType.BOX) {
+                        hit = sweepFireballs(e, enemyCategory, enemyMask, continuous, sweptCount, fbShapes, fbCategories, fbMasks, claims);
                     }
+                    if (hit >= 0) {
+                        wake(obj);
+                        wake(fireballs.get(hit));
+                        scene.removeGameObject(obj);
+                        scene.removeGameObject(fireballs.get(hit));
+                        score.incrementAndGet();
                     }
+                }
             });
-            
-            futures.add(future);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 宽相：所有启用的碰撞体以扫掠包围盒（上一步与当前位置的并集）进入宽相，
+     * 碰撞层的分类位与掩码在宽相中过滤（敌人对敌人、火球对火球等不会成对），只对候选对做窄相检测
+     */
+    private void checkCollisionsBroadphase(Broadphase broadphase) {
+        usedCount = 0;
+        broadphase.beginUpdate();
+        List<ColliderComponent> colliders = scene.getComponents(ColliderComponent.class);
+        for (int i = 0, n = colliders.size(); i < n; i++) {
+            addProxy(broadphase, colliders.get(i));
         }
+        broadphase.endUpdate();
 
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        if (slotClaims.length() < slotObjects.length) {
+            slotClaims = new AtomicIntegerArray(slotObjects.length);
+        } else {
+            for (int i = 0; i < usedCount; i++) {
+                slotClaims.set(usedSlots[i], 0);
             }
+        }
+        pairCount = 0;
+        broadphase.findPairs(pairCollector);
 
+        final int[] candidates = pairs;
+        try {
+            parallelFor.invoke(pairCount, (start, end) -> {
+                for (int p = start; p < end; p++) {
+                    narrowphase(candidates[2 * p], candidates[2 * p + 1]);
+                }
+            });
+        } catch (RuntimeException e) {
+            e.printStackTrace();
         }
     }
 
-    public int getScore() {
-        return score;
+    /**
+     * 候选对的窄相检测与命中处理；碰撞后的规则按双方的角色（标签）决定
+     * 宽相报告的对没有固定顺序，而矩形对矩形的检测不对称，这里按逐对比较路径的顺序传参（玩家、火球在前）
+     */
+    private void narrowphase(int a, int b) {
+        int roles = slotRoles[a] | slotRoles[b];
+        if (roles == (ROLE_PLAYER | ROLE_ENEMY)) {
+            int player = slotRoles[a] == ROLE_PLAYER ? a : b;
+            int enemy = player == a ? b : a;
+            if (shapesOverlap(player, enemy)) {
+                // 碰撞！结束游戏
+                wake(slotObjects[a]);
+                wake(slotObjects[b]);
+                setScore(0);
+                gameOver = true;
+            }
+            return;
+        }
+        if (roles != (ROLE_ENEMY | ROLE_FIREBALL)) {
+            // 没有游戏规则的组合只唤醒接触的双方
+            if (shapesOverlap(a, b) || shapesOverlap(b, a)) {
+                wake(slotObjects[a]);
+                wake(slotObjects[b]);
+            }
+            return;
+        }
+        int enemy = slotRoles[a] == ROLE_ENEMY ? a : b;
+        int fireball = enemy == a ? b : a;
+        if (!shapesOverlap(fireball, enemy) && !sweepHit(enemy, fireball)) return;
+        // 接触的双方都唤醒，包括认领失败而留在场景中的一方
+        GameObject enemyObj = slotObjects[enemy];
+        GameObject fireballObj = slotObjects[fireball];
+        wake(enemyObj);
+        wake(fireballObj);
+        // 先认领火球再认领敌人，敌人已被其他火球击中时归还火球
+        if (!slotClaims.compareAndSet(fireball, 0, 1)) return;
+        if (!slotClaims.compareAndSet(enemy, 0, 1)) {
+            slotClaims.set(fireball, 0);
+            return;
+        }
+        scene.removeGameObject(enemyObj);
+        scene.removeGameObject(fireballObj);
+        score.incrementAndGet();
     }
 
-    public void setScore(int score) {
-        this.score = score;
+    private boolean shapesOverlap(int a, int b) {
+        int ia = a * SHAPE_STRIDE, ib = b * SHAPE_STRIDE;
+        float[] s = slotShapes;
+        return ColliderComponent.overlaps(slotTypes[a], s[ia], s[ia + 1], s[ia + 2], s[ia + 3], s[ia + 4],
+                                          slotTypes[b], s[ib], s[ib + 1], s[ib + 2], s[ib + 3], s[ib + 4]);
     }
 
-    public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
+    /**
+     * 开启连续检测的圆形火球对矩形敌人的扫掠检测（敌人坐标系）
+     */
+    private boolean sweepHit(int enemy, int fireball) {
+        if (!slotContinuous[fireball] || slotTypes[enemy] != ColliderComponent.ColliderType.BOX) return false;
+        float[] s = slotShapes;
+        int e = enemy * SHAPE_STRIDE, f = fireball * SHAPE_STRIDE;
+        float minX = s[e + 5] - s[e + 2]/2, maxX = s[e + 5] + s[e + 2]/2;
+        float minY = s[e + 6] - s[e + 3]/2, maxY = s[e + 6] + s[e + 3]/2;
+        float dx = s[f] - s[f + 5] - (s[e] - s[e + 5]);
+        float dy = s[f + 1] - s[f + 6] - (s[e + 1] - s[e + 6]);
+        return ColliderComponent.sweepCircleBox(s[f + 5], s[f + 6], s[f + 4], dx, dy, minX, minY, maxX, maxY) >= 0;
+    }
+
+    /**
+     * 读取碰撞体并以扫掠包围盒更新宽相代理；代理 id 为实体句柄的槽位下标，帧间稳定
+     */
+    private void addProxy(Broadphase broadphase, ColliderComponent collider) {
+        GameObject obj = collider.getOwner();
+        if (!obj.isActive() || obj.getHandle() == EntityAllocator.NONE) return;
+        int slot = EntityAllocator.indexOf(obj.getHandle());
+        ensureSlotCapacity(slot + 1);
+        int b = slot * SHAPE_STRIDE;
+        ColliderComponent.ColliderType type = readShape(obj, slotShapes, b);
+        if (type == null) return;
+        float[] s = slotShapes;
+        float hw, hh;
+        if (type == ColliderComponent.ColliderType.CIRCLE) {
+            hw = hh = s[b + 4];
+        } else {
+            hw = s[b + 2] / 2;
+            hh = s[b + 3] / 2;
+        }
+        float minX = Math.min(s[b], s[b + 5]) - hw, maxX = Math.max(s[b], s[b + 5]) + hw;
+        float minY = Math.min(s[b + 1], s[b + 6]) - hh, maxY = Math.max(s[b + 1], s[b + 6]) + hh;
+        slotObjects[slot] = obj;
+        slotTypes[slot] = type;
+        slotRoles[slot] = roleOf(obj);
+        slotContinuous[slot] = type == ColliderComponent.ColliderType.CIRCLE && collider.isContinuous();
+        slotSleeping[slot] = isSleeping(obj);
+        usedSlots[usedCount++] = slot;
+        broadphase.update(slot, minX, minY, maxX, maxY, collider.getCategory(), collider.getMask());
+    }
+
+    /**
+     * 收集候选对；双方都在休眠的对跳过窄相（休眠物体不动，彼此的接触不会变化）
+     */
+    private void addPair(int a, int b) {
+        if (slotSleeping[a] && slotSleeping[b]) return;
+        if (2 * pairCount + 2 > pairs.length) {
+            pairs = Arrays.copyOf(pairs, Math.max(64, pairs.length * 2));
+        }
+        pairs[2 * pairCount] = a;
+        pairs[2 * pairCount + 1] = b;
+        pairCount++;
+    }
+
+    private void ensureSlotCapacity(int capacity) {
+        if (capacity > slotObjects.length) {
+            int next = Math.max(capacity, Math.max(256, slotObjects.length * 2));
+            slotObjects = Arrays.copyOf(slotObjects, next);
+            slotShapes = Arrays.copyOf(slotShapes, next * SHAPE_STRIDE);
+            slotTypes = Arrays.copyOf(slotTypes, next);
+            slotRoles = Arrays.copyOf(slotRoles, next);
+            slotContinuous = Arrays.copyOf(slotContinuous, next);
+            slotSleeping = Arrays.copyOf(slotSleeping, next);
+        }
+        if (usedCount == usedSlots.length) {
+            usedSlots = Arrays.copyOf(usedSlots, Math.max(256, usedSlots.length * 2));
+        }
+    }
+
+    /**
+     * 对开启连续检测的圆形火球做扫掠检测，返回第一个认领成功的火球下标，没有返回 -1
+     * 在敌人坐标系下计算：矩形取上一步位置，火球位移减去敌人位移
+     */
+    private static int sweepFireballs(float[] e, int enemyCategory, int enemyMask, int[] indices, int count, float[] shapes,
+                                      int[] categories, int[] masks, AtomicIntegerArray claims) {
+        float minX = e[5] - e[2]/2, maxX = e[5] + e[2]/2;
+        float minY = e[6] - e[3]/2, maxY = e[6] + e[3]/2;
+        float enemyDx = e[0] - e[5];
+        float enemyDy = e[1] - e[6];
+        for (int i = 0; i < count; i++) {
+            int k = indices[i];
+            if (!CollisionLayer.accepts(categories[k], masks[k], enemyCategory, enemyMask)) continue;
+            int b = k * SHAPE_STRIDE;
+            float fx = shapes[b + 5];
+            float fy = shapes[b + 6];
+            float dx = shapes[b] - fx - enemyDx;
+            float dy = shapes[b + 1] - fy - enemyDy;
+            if (ColliderComponent.sweepCircleBox(fx, fy, shapes[b + 4], dx, dy, minX, minY, maxX, maxY) >= 0
+                && claims.compareAndSet(k, 0, 1)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 收集火球碰撞体数据到复用数组
+     */
+    private int gatherFireballShapes(List<GameObject> fireballs) {
+        int count = fireballs.size();
+        if (fireballTypes.length < count) {
+            int capacity = Math.max(count, fireballTypes.length * 2);
+            fireballShapes = new float[capacity * SHAPE_STRIDE];
+            fireballTypes = new ColliderComponent.ColliderType[capacity];
+            fireballSleeping = new boolean[capacity];
+            fireballCategories = new int[capacity];
+            fireballMasks = new int[capacity];
+            continuousFireballs = new int[capacity];
+        }
+        if (fireballClaims.length() < count) {
+            fireballClaims = new AtomicIntegerArray(fireballTypes.length);
+        } else {
+            for (int k = 0; k < count; k++) {
+                fireballClaims.set(k, 0);
             }
         }
+        int swept = 0;
+        for (int k = 0; k < count; k++) {
+            GameObject fireball = fireballs.get(k);
+            int b = k * SHAPE_STRIDE;
+            ColliderComponent.ColliderType type = fireball.isActive() ? readShape(fireball, fireballShapes, b) : null;
+            fireballTypes[k] = type;
+            fireballSleeping[k] = type != null && isSleeping(fireball);
+            if (type != null) {
+                ColliderComponent collider = fireball.getComponent(ColliderComponent.class);
+                fireballCategories[k] = collider.getCategory();
+                fireballMasks[k] = collider.getMask();
+            }
+            if (type == ColliderComponent.ColliderType.CIRCLE && isContinuous(fireball)) {
+                continuousFireballs[swept++] = k;
+            }
+        }
+        continuousCount = swept;
+        return count;
+    }
+
+    /**
+     * 唤醒发生碰撞的物体
+     */
+    private static void wake(GameObject obj) {
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        if (physics != null) {
+            physics.wakeUp();
+        }
+    }
+
+    private static boolean isSleeping(GameObject obj) {
+        PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
+        return physics != null && physics.isSleeping();
+    }
+
+    private static int roleOf(GameObject obj) {
+        if (obj.hasTag(Tag.ENEMY)) return ROLE_ENEMY;
+        if (obj.hasTag(Tag.FIREBALL)) return ROLE_FIREBALL;
+        if (obj.hasTag(Tag.PLAYER)) return ROLE_PLAYER;
+        return ROLE_OTHER;
+    }
+
+    private static boolean isContinuous(GameObject obj) {
+        Archetype archetype = obj.getArchetype();
+        if (archetype != null && archetype.has(Archetype.COLLIDER)) {
+            return archetype.getColliders()[obj.getArchetypeRow()].isContinuous();
+        }
+        ColliderComponent collider = obj.getComponent(ColliderComponent.class);
+        return collider != null && collider.isContinuous();
+    }
+
+    /**
+     * 读取对象碰撞体的中心（含偏移）、宽高、半径和上一步中心，写入 out[base..base+6]
+     * 原型存储中的对象直接读列；没有可用碰撞体时返回 null
+     */
+    static ColliderComponent.ColliderType readShape(GameObject obj, float[] out, int base) {
+        Archetype archetype = obj.getArchetype();
+        if (archetype != null && archetype.has(Archetype.TRANSFORM | Archetype.COLLIDER)) {
+            int row = obj.getArchetypeRow();
+            if (!archetype.getColliderEnabled()[row]) return null;
+            float[] pos = archetype.getPositions();
+            float[] offset = archetype.getColliderOffsets();
+            float[] size = archetype.getColliderSizes();
+            out[base] = pos[2 * row] + offset[2 * row];
+            out[base + 1] = pos[2 * row + 1] + offset[2 * row + 1];
+            out[base + 2] = size[2 * row];
+            out[base + 3] = size[2 * row + 1];
+            out[base + 4] = archetype.getColliderRadii()[row];
+            out[base + 5] = archetype.getPreviousPositions()[2 * row] + offset[2 * row];
+            out[base + 6] = archetype.getPreviousPositions()[2 * row + 1] + offset[2 * row + 1];
+            return archetype.getColliderTypes()[row];
+        }
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        ColliderComponent collider = obj.getComponent(ColliderComponent.class);
+        if (transform == null || collider == null || !collider.isEnabled()) return null;
+        out[base] = transform.getX() + collider.getOffsetX();
+        out[base + 1] = transform.getY() + collider.getOffsetY();
+        out[base + 2] = collider.getWidth();
+        out[base + 3] = collider.getHeight();
+        out[base + 4] = collider.getRadius();
+        out[base + 5] = transform.getPreviousX() + collider.getOffsetX();
+        out[base + 6] = transform.getPreviousY() + collider.getOffsetY();
+        return collider.getColliderType();
+    }
+
+    public int getScore() {
+        return score.get();
+    }
+
+    public void setScore(int score) {
+        this.score.set(score);
+    }
+
+    public Broadphase getBroadphase() {
+        return scene.getBroadphase();
+    }
+
+    /**
+     * 替换所在场景的碰撞宽相；传 null 退回逐对比较
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        scene.setBroadphase(broadphase);
+    }
+
+    /**
+     * 并行循环及其调度统计
+     */
+    public ParallelFor getParallelFor() {
+        return parallelFor;
     }
 }
@@ -1,6 +1,7 @@
 package com.gameengine.core;
 
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
 import java.util.*;
 
 /**
@@ -11,18 +12,38 @@ public class GameObject {
     protected String name;
     protected int id;
     protected final List<Component<?>> components;
+    private final List<Component<?>> componentsView;
+    // 按 ComponentRegistry 类型 id 索引的组件槽位（父类 id 也指向同一组件）
+    private Component<?>[] slots;
+    // 标签位掩码（见 Tag），在场景中修改时同步更新场景的标签索引
+    private long tagMask;
+    // 实体句柄（见 EntityAllocator），加入场景时分配，移出时释放
+    private int handle = EntityAllocator.NONE;
+    // 所属对象池，移出场景时归还
+    private GameObjectPool pool;
+    // 所在原型及行号（由 ArchetypeStorage 维护）
+    Archetype archetype;
+    int archetypeRow = -1;
+    // 所在场景（加入场景时设置，移出时清空）
+    private Scene scene;
+    // 已被场景标记为待移除（同一帧内的重复移除请求会被忽略）
+    private boolean pendingRemoval;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
         this.id = 0;
         this.components = new ArrayList<>();
+        this.componentsView = Collections.unmodifiableList(components);
+        this.slots = new Component<?>[Math.max(8, ComponentRegistry.size())];
     }
     
     public GameObject(String name) {
         this();
         this.name = name;
         this.id = 0;
+        // 以名称作为默认标签
+        this.tagMask = Tag.of(name).getMask();
     }
     
     /**
@@ -48,6 +69,7 @@ public class GameObject {
     
     /**
      * 销毁游戏对象
+     * 组件只做禁用而不从列表摘除，场景移除对象时仍需据此清理组件索引
      */
     public void destroy() {
         this.active = false;
@@ -55,7 +77,6 @@ public class GameObject {
         for (Component<?> component : components) {
             component.destroy();
         }
-        components.clear();
     }
     
     /**
@@ -64,33 +85,82 @@ public class GameObject {
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        for (int typeId : ComponentRegistry.hierarchyIdsOf(component.getClass())) {
+            if (typeId >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(typeId + 1, slots.length * 2));
+            }
+            // 与原先的线性查找一致：同类型以先添加的组件为准
+            if (slots[typeId] == null) {
+                slots[typeId] = component;
+            }
+        }
         component.initialize();
+        // 已在场景中的对象同步更新场景的组件索引（结构变更，需在主线程调用）
+        if (scene != null) {
+            scene.onComponentAdded(this, component);
+        }
         return component;
     }
+
+    /**
+     * 移除并销毁组件；该类型若还有其他组件，由其中最先添加的一个接替
+     * 已在场景中的对象同步更新场景的组件索引（结构变更，需在主线程调用）
+     */
+    public boolean removeComponent(Component<?> component) {
+        if (!components.remove(component)) return false;
+        for (int typeId : ComponentRegistry.hierarchyIdsOf(component.getClass())) {
+            if (slots[typeId] != component) continue;
+            Component<?> replacement = null;
+            for (Component<?> other : components) {
+                if (hasTypeId(other, typeId)) {
+                    replacement = other;
+                    break;
+                }
+            }
+            slots[typeId] = replacement;
+        }
+        if (scene != null) {
+            scene.onComponentRemoved(this, component);
+        }
+        component.destroy();
+        return true;
+    }
+
+    private static boolean hasTypeId(Component<?> component, int typeId) {
+        for (int id : ComponentRegistry.hierarchyIdsOf(component.getClass())) {
+            if (id == typeId) return true;
+        }
+        return false;
+    }
     
     /**
      * 获取组件
      */
     @SuppressWarnings("unchecked")
     public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
-            }
-        }
-        return null;
+        int typeId = ComponentRegistry.idOf(componentType);
+        return typeId < slots.length ? (T) slots[typeId] : null;
+    }
+    
+    /**
+     * 按类型 id 获取组件（同类型多个时为最先添加的一个），供场景索引使用
+     */
+    public Component<?> getComponentById(int typeId) {
+        return typeId < slots.length ? slots[typeId] : null;
     }
     
     /**
      * 检查是否有指定类型的组件
      */
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
-            }
-        }
-        return false;
+        return getComponent(componentType) != null;
+    }
+    
+    /**
+     * 获取全部组件（只读视图）
+     */
+    public List<Component<?>> getComponents() {
+        return componentsView;
     }
     
     /**
@@ -129,8 +199,17 @@ public class GameObject {
         return name;
     }
     
+    /**
+     * 设置名称；名称同时是默认标签，旧名称的标签换成新名称的标签
+     */
     public void setName(String name) {
+        long oldMask = tagMask;
+        if (this.name != null) {
+            tagMask &= ~Tag.of(this.name).getMask();
+        }
         this.name = name;
+        tagMask |= Tag.of(name).getMask();
+        tagsChanged(oldMask);
     }
 
     public void setId(int id){
@@ -140,4 +219,82 @@ public class GameObject {
     public int getId(){
         return id;
     }
-}
\ No newline at end of file
+
+    public void addTag(Tag tag) {
+        long oldMask = tagMask;
+        tagMask |= tag.getMask();
+        tagsChanged(oldMask);
+    }
+
+    public void removeTag(Tag tag) {
+        long oldMask = tagMask;
+        tagMask &= ~tag.getMask();
+        tagsChanged(oldMask);
+    }
+
+    /**
+     * 已在场景中的对象同步更新场景的标签索引（需在主线程调用）
+     */
+    private void tagsChanged(long oldMask) {
+        if (scene != null && tagMask != oldMask) {
+            scene.onTagsChanged(this, oldMask);
+        }
+    }
+
+    public boolean hasTag(Tag tag) {
+        return (tagMask & tag.getMask()) != 0;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    public int getHandle() {
+        return handle;
+    }
+
+    /**
+     * 设置实体句柄（由 Scene 调用）
+     */
+    public void setHandle(int handle) {
+        this.handle = handle;
+    }
+
+    public GameObjectPool getPool() {
+        return pool;
+    }
+
+    public void setPool(GameObjectPool pool) {
+        this.pool = pool;
+    }
+
+    public Archetype getArchetype() {
+        return archetype;
+    }
+
+    public int getArchetypeRow() {
+        return archetypeRow;
+    }
+
+    public boolean isPendingRemoval() {
+        return pendingRemoval;
+    }
+
+    /**
+     * 设置待移除标记（由 Scene 在同步点调用）
+     */
+    public void setPendingRemoval(boolean pendingRemoval) {
+        this.pendingRemoval = pendingRemoval;
+    }
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * 设置所在场景（由 Scene 调用）
+     */
+    public void setScene(Scene scene) {
+        this.scene = scene;
+    }
+}
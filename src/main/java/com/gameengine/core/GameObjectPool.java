@@ -0,0 +1,137 @@
+package com.gameengine.core;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 游戏对象池：回收被移出场景的对象，下次生成时直接复用
+ * 由池创建的对象在 Scene 移除时自动归还（见 Scene.update）
+ */
+public class GameObjectPool {
+    private final String name;
+    private final Supplier<GameObject> factory;
+    private final Consumer<GameObject> resetter;
+    private final ArrayDeque<GameObject> parked;
+    private int maxParked;
+
+    // 统计
+    private int inUse;
+    private int highWaterMark;
+    private long created;
+    private long acquired;
+    private long misses;
+    private long dropped;
+
+    /**
+     * @param factory 创建新对象（含组件），池未命中时调用
+     * @param resetter 对象归还时重置状态，可为 null
+     */
+    public GameObjectPool(String name, Supplier<GameObject> factory, Consumer<GameObject> resetter, int maxParked) {
+        this.name = name;
+        this.factory = factory;
+        this.resetter = resetter;
+        this.parked = new ArrayDeque<>();
+        this.maxParked = maxParked;
+    }
+
+    /**
+     * 预先创建对象放入池中
+     */
+    public void prewarm(int count) {
+        for (int i = 0; i < count && parked.size() < maxParked; i++) {
+            parked.push(createObject());
+        }
+    }
+
+    /**
+     * 取出一个对象；池空时新建并计一次未命中
+     */
+    public GameObject acquire() {
+        GameObject obj = parked.poll();
+        if (obj == null) {
+            misses++;
+            obj = createObject();
+        }
+        obj.setActive(true);
+        acquired++;
+        inUse++;
+        if (inUse > highWaterMark) {
+            highWaterMark = inUse;
+        }
+        return obj;
+    }
+
+    /**
+     * 归还对象：重置后停放，超过停放上限时丢弃
+     */
+    public void release(GameObject obj) {
+        if (obj.getPool() != this) return;
+        inUse--;
+        if (resetter != null) {
+            resetter.accept(obj);
+        }
+        if (parked.size() < maxParked) {
+            parked.push(obj);
+        } else {
+            dropped++;
+        }
+    }
+
+    private GameObject createObject() {
+        GameObject obj = factory.get();
+        obj.setPool(this);
+        created++;
+        return obj;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getParkedCount() {
+        return parked.size();
+    }
+
+    public int getInUseCount() {
+        return inUse;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public long getCreatedCount() {
+        return created;
+    }
+
+    public long getAcquireCount() {
+        return acquired;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public int getMaxParked() {
+        return maxParked;
+    }
+
+    public void setMaxParked(int maxParked) {
+        this.maxParked = Math.max(0, maxParked);
+        while (parked.size() > this.maxParked) {
+            parked.pop();
+            dropped++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool[%s] parked=%d inUse=%d highWater=%d created=%d acquired=%d misses=%d dropped=%d",
+                name, parked.size(), inUse, highWaterMark, created, acquired, misses, dropped);
+    }
+}
@@ -0,0 +1,36 @@
+package com.gameengine.core;
+
+import java.util.Set;
+
+/**
+ * 游戏系统：每帧执行一次的逻辑单元
+ * 系统声明自己读/写的组件类型，SystemScheduler 据此把互不冲突的系统放到同一阶段并行执行
+ * 新增/移除对象走 Scene 的命令缓冲，不算作组件写入
+ */
+public interface GameSystem {
+    /**
+     * 读取的组件类型
+     */
+    Set<Class<?>> reads();
+
+    /**
+     * 写入的组件类型
+     */
+    Set<Class<?>> writes();
+
+    /**
+     * 执行一帧
+     */
+    void update(float deltaTime);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * 帧分析器中记录耗时的阶段
+     */
+    default FrameProfiler.Phase getProfilerPhase() {
+        return FrameProfiler.Phase.SYSTEMS;
+    }
+}
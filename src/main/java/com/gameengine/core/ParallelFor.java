@@ -0,0 +1,215 @@
+package com.gameengine.core;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并行区间循环：对 [0, count) 按工作窃取方式二分拆分
+ * 顺序阈值按实测的单元素耗时自适应：总工作量估计很小时直接在调用线程内联执行，
+ * 否则把区间拆到每个叶子约 TARGET_LEAF_NANOS 的粒度交给引擎工作线程池
+ * 同时统计调度开销与各工作线程的忙碌时间
+ */
+public class ParallelFor {
+    /**
+     * 区间任务体，处理 [start, end)
+     */
+    public interface RangeBody {
+        void run(int start, int end);
+    }
+
+    // 每个叶子任务的目标耗时
+    private static final long TARGET_LEAF_NANOS = 50_000;
+    // 估计总耗时低于该值时不分派，直接内联
+    private static final long INLINE_NANOS = 100_000;
+    // 单元素耗时的指数滑动平均系数
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final String name;
+    private WorkerPool pool;
+    private int minGrain;
+    // 实测单元素耗时，首次调用前未知（< 0）
+    private volatile double nanosPerItem = -1;
+
+    // 统计
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder inlineRuns = new LongAdder();
+    private final LongAdder leafTasks = new LongAdder();
+    private final LongAdder parallelWallNanos = new LongAdder();
+    private final LongAdder parallelBusyNanos = new LongAdder();
+    private final LongAdder dispatchNanos = new LongAdder();
+    private final Map<Thread, LongAdder> workerBusyNanos = new ConcurrentHashMap<>();
+
+    public ParallelFor(String name, WorkerPool pool) {
+        this.name = name;
+        this.pool = pool;
+        this.minGrain = 16;
+    }
+
+    /**
+     * 对 [0, count) 执行 body；返回时所有区间均已完成
+     */
+    public void invoke(int count, RangeBody body) {
+        if (count <= 0) return;
+        invocations.increment();
+        double perItem = nanosPerItem;
+        int parallelism = pool.getParallelism();
+        // 耗时未知、总量太小或没有可用并行度时内联执行（同时完成一次测量）
+        if (perItem < 0 || parallelism <= 1 || count <= minGrain || count * perItem < INLINE_NANOS) {
+            inlineRuns.increment();
+            long start = System.nanoTime();
+            body.run(0, count);
+            sample(System.nanoTime() - start, count);
+            return;
+        }
+
+        int grain = (int) Math.max(minGrain, Math.min(count, TARGET_LEAF_NANOS / Math.max(perItem, 1e-3)));
+        RangeTask root = new RangeTask(body, 0, count, grain);
+        long start = System.nanoTime();
+        pool.invoke(root);
+        long wall = System.nanoTime() - start;
+
+        // 调度开销：墙钟时间减去理想情况下（忙碌时间平均分摊到参与线程）的耗时
+        long busy = root.busy.sum();
+        int leaves = root.leaves.intValue();
+        int used = Math.max(1, Math.min(parallelism, leaves));
+        parallelWallNanos.add(wall);
+        parallelBusyNanos.add(busy);
+        dispatchNanos.add(Math.max(0, wall - busy / used));
+        sample(busy, count);
+    }
+
+    private void sample(long nanos, int items) {
+        double perItem = (double) nanos / items;
+        double old = nanosPerItem;
+        nanosPerItem = old < 0 ? perItem : old + EWMA_ALPHA * (perItem - old);
+    }
+
+    private final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeBody body;
+        private final int start;
+        private final int end;
+        private final int grain;
+        // 由根任务持有，叶子任务共享
+        private final LongAdder busy;
+        private final LongAdder leaves;
+
+        RangeTask(RangeBody body, int start, int end, int grain) {
+            this(body, start, end, grain, new LongAdder(), new LongAdder());
+        }
+
+        private RangeTask(RangeBody body, int start, int end, int grain, LongAdder busy, LongAdder leaves) {
+            this.body = body;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+            this.busy = busy;
+            this.leaves = leaves;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                long t0 = System.nanoTime();
+                body.run(start, end);
+                long elapsed = System.nanoTime() - t0;
+                busy.add(elapsed);
+                leaves.increment();
+                leafTasks.increment();
+                workerBusyNanos.computeIfAbsent(Thread.currentThread(), t -> new LongAdder()).add(elapsed);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            RangeTask right = new RangeTask(body, mid, end, grain, busy, leaves);
+            right.fork();
+            new RangeTask(body, start, mid, grain, busy, leaves).compute();
+            right.join();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public WorkerPool getPool() {
+        return pool;
+    }
+
+    public void setPool(WorkerPool pool) {
+        this.pool = pool;
+    }
+
+    public int getMinGrain() {
+        return minGrain;
+    }
+
+    public void setMinGrain(int minGrain) {
+        this.minGrain = Math.max(1, minGrain);
+    }
+
+    public double getNanosPerItem() {
+        return nanosPerItem;
+    }
+
+    public long getInvocationCount() {
+        return invocations.sum();
+    }
+
+    public long getInlineCount() {
+        return inlineRuns.sum();
+    }
+
+    public long getLeafTaskCount() {
+        return leafTasks.sum();
+    }
+
+    /**
+     * 并行分派的平均调度开销（纳秒/次）
+     */
+    public double getMeanDispatchNanos() {
+        long parallelRuns = invocations.sum() - inlineRuns.sum();
+        return parallelRuns == 0 ? 0 : (double) dispatchNanos.sum() / parallelRuns;
+    }
+
+    /**
+     * 并行分派期间线程池整体利用率：忙碌时间 / (墙钟时间 * 并行度)
+     */
+    public double getUtilization() {
+        long wall = parallelWallNanos.sum();
+        return wall == 0 ? 0 : (double) parallelBusyNanos.sum() / ((double) wall * pool.getParallelism());
+    }
+
+    /**
+     * 各工作线程在并行分派期间的利用率（线程名 -> 忙碌时间 / 墙钟时间）
+     */
+    public Map<String, Double> getWorkerUtilization() {
+        Map<String, Double> result = new TreeMap<>();
+        long wall = parallelWallNanos.sum();
+        if (wall == 0) return result;
+        for (Map.Entry<Thread, LongAdder> entry : workerBusyNanos.entrySet()) {
+            result.put(entry.getKey().getName(), (double) entry.getValue().sum() / wall);
+        }
+        return result;
+    }
+
+    public void resetStats() {
+        invocations.reset();
+        inlineRuns.reset();
+        leafTasks.reset();
+        parallelWallNanos.reset();
+        parallelBusyNanos.reset();
+        dispatchNanos.reset();
+        workerBusyNanos.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ParallelFor[%s] calls=%d inline=%d leaves=%d ns/item=%.1f dispatch=%.1fus util=%.0f%% workers=%d",
+                name, getInvocationCount(), getInlineCount(), getLeafTaskCount(), nanosPerItem,
+                getMeanDispatchNanos() / 1000.0, getUtilization() * 100, workerBusyNanos.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gameengine.core;
+
+/**
+ * 物理积分的批量内核（积分、摩擦、越界检测），作用于原型存储的交错列（第 row 行的 x/y 在 [2row]、[2row+1]）
+ * 默认使用标量实现；以 -Dgameengine.simd=true 启动且加载了 jdk.incubator.vector 模块
+ * （--add-modules jdk.incubator.vector）时使用 Vector API 实现，加载失败自动回退到标量
+ */
+public interface PhysicsKernels {
+    String SIMD_PROPERTY = "gameengine.simd";
+
+    /**
+     * 对 [start, end) 中启用的行积分：vel = (vel + (acc + grav) * dt) * friction，pos += vel * dt，acc 清零
+     */
+    void integrate(float[] pos, float[] vel, float[] acc, float[] grav, float[] friction, boolean[] enabled,
+                   int start, int end, float dt);
+
+    /**
+     * 从 from 开始查找下一个位置越界（x 不在 (0, maxX) 或 y 不在 (0, maxY)）的启用行，找不到返回 -1
+     */
+    int nextOutOfBounds(float[] pos, boolean[] enabled, int from, int end, float maxX, float maxY);
+
+    String getName();
+
+    /**
+     * 标量实现
+     */
+    static PhysicsKernels scalar() {
+        return ScalarPhysicsKernels.INSTANCE;
+    }
+
+    /**
+     * Vector API 实现；运行时没有 jdk.incubator.vector 模块时返回 null
+     */
+    static PhysicsKernels vector() {
+        return KernelLoader.VECTOR;
+    }
+
+    /**
+     * 按系统属性选择的实现
+     */
+    static PhysicsKernels getDefault() {
+        return KernelLoader.DEFAULT;
+    }
+
+    /**
+     * 延迟加载：只有在模块存在时才反射加载向量实现类，避免缺少模块时链接失败
+     */
+    final class KernelLoader {
+        static final PhysicsKernels VECTOR = loadVector();
+        static final PhysicsKernels DEFAULT = Boolean.getBoolean(SIMD_PROPERTY) && VECTOR != null ? VECTOR : scalar();
+
+        private KernelLoader() {}
+
+        private static PhysicsKernels loadVector() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                if (Boolean.getBoolean(SIMD_PROPERTY)) {
+                    System.err.println("未加载 jdk.incubator.vector 模块（需要 --add-modules jdk.incubator.vector），使用标量物理内核");
+                }
+                return null;
+            }
+            try {
+                Class<?> type = Class.forName("com.gameengine.core.VectorPhysicsKernels");
+                return (PhysicsKernels) type.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                if (Boolean.getBoolean(SIMD_PROPERTY)) {
+                    System.err.println("未编译向量物理内核（需以 mvn -Psimd 或 GAMEENGINE_SIMD=1 构建），使用标量物理内核");
+                }
+                return null;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("向量物理内核加载失败，使用标量实现: " + e);
+                return null;
+            }
+        }
+    }
+}
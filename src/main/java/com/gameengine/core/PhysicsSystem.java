@@ -2,156 +2,272 @@ package com.gameengine.core;
 
 import com.gameengine.components.TransformComponent;
 import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PhysicsSystem implements GameSystem {
+    private static final Set<Class<?>> READS = Set.of(PhysicsComponent.class, TransformComponent.class);
+    private static final Set<Class<?>> WRITES = Set.of(PhysicsComponent.class, TransformComponent.class);
 
-public class PhysicsSystem {
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    private ParallelFor parallelFor;
+    // 原型列的积分与越界检测内核（标量或 Vector API）
+    private PhysicsKernels kernels;
+    // 休眠：速度低于 sleepSpeed 持续 sleepTicks 步后休眠，sleepTicks <= 0 时关闭
+    private float sleepSpeed;
+    private int sleepTicks;
+    // 上一次 update 时参与积分与休眠中的物体数量
+    private final AtomicInteger awakeBodies = new AtomicInteger();
+    private final AtomicInteger sleepingBodies = new AtomicInteger();
     private int screenWidth;
     private int screenHeight;
     
-    public PhysicsSystem(Scene scene) {
-        this(scene, 1920, 1080);
+    public PhysicsSystem(Scene scene, WorkerPool workerPool) {
+        this(scene, workerPool, 1920, 1080);
     }
     
-    public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
+    public PhysicsSystem(Scene scene, WorkerPool workerPool, int screenWidth, int screenHeight) {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.parallelFor = new ParallelFor("Physics", workerPool);
+        this.kernels = PhysicsKernels.getDefault();
+        this.sleepSpeed = 2.0f;
+        this.sleepTicks = 30;
+    }
+    
+    @Override
+    public Set<Class<?>> reads() {
+        return READS;
+    }
+    
+    @Override
+    public Set<Class<?>> writes() {
+        return WRITES;
+    }
+    
+    @Override
+    public FrameProfiler.Phase getProfilerPhase() {
+        return FrameProfiler.Phase.PHYSICS;
     }
     
+    @Override
     public void update(float deltaTime) {
+        awakeBodies.set(0);
+        sleepingBodies.set(0);
+        ArchetypeStorage storage = scene.getArchetypeStorage();
+        if (storage != null) {
+            updateArchetypes(storage, deltaTime);
+            return;
+        }
+        
         List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
         if (physicsComponents.isEmpty()) return;
         
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
+        try {
+            parallelFor.invoke(physicsComponents.size(), (start, end) -> {
+                int awake = 0, sleeping = 0;
                 for (int j = start; j < end; j++) {
                     PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
+                    if (!physics.isEnabled()) continue;
+                    if (physics.isSleeping()) {
+                        sleeping++;
+                        continue;
                     }
+                    awake++;
+                    integrateBody(physics, deltaTime);
                 }
+                awakeBodies.addAndGet(awake);
+                sleepingBodies.addAndGet(sleeping);
             });
-            
-            futures.add(future);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
         }
-        
-        for (Future<?> future : futures) {
+    }
+    
+    /**
+     * 原型存储路径：直接遍历 float[] 列
+     */
+    private void updateArchetypes(ArchetypeStorage storage, float deltaTime) {
+        for (Archetype archetype : storage.getArchetypes()) {
+            if (!archetype.has(Archetype.TRANSFORM | Archetype.PHYSICS)) continue;
             try {
-                future.get();
-            } catch (Exception e) {
+                parallelFor.invoke(archetype.size(), (start, end) -> integrateRows(archetype, start, end, deltaTime));
+            } catch (RuntimeException e) {
                 e.printStackTrace();
             }
         }
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
+    private void integrateRows(Archetype archetype, int start, int end, float deltaTime) {
+        float[] pos = archetype.getPositions();
+        float[] vel = archetype.getVelocities();
+        // 休眠行不参与积分与边界处理
+        boolean[] enabled = archetype.getPhysicsActive();
+        GameObject[] owners = archetype.getOwners();
+        float maxX = screenWidth - 15;
+        float maxY = screenHeight - 15;
         
-        Vector2 acceleration = physics.getAcceleration();
+        kernels.integrate(pos, vel, archetype.getAccelerations(), archetype.getGravities(), archetype.getFrictions(),
+                          enabled, start, end, deltaTime);
         
-        if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+        // 边界处理：只逐行处理越界的行
+        for (int row = kernels.nextOutOfBounds(pos, enabled, start, end, maxX, maxY); row >= 0;
+             row = kernels.nextOutOfBounds(pos, enabled, row + 1, end, maxX, maxY)) {
+            if (owners[row].hasTag(Tag.FIREBALL)) {
+                scene.removeGameObject(owners[row]);
+                continue;
+            }
+            int ix = 2 * row, iy = ix + 1;
+            float px = pos[ix];
+            float py = pos[iy];
+            if (px <= 0 || px >= maxX) vel[ix] = -vel[ix];
+            if (py <= 0 || py >= maxY) vel[iy] = -vel[iy];
+            
+            if (px < 0) px = 0;
+            if (py < 0) py = 0;
+            if (px > maxX) px = maxX;
+            if (py > maxY) py = maxY;
+            pos[ix] = px;
+            pos[iy] = py;
         }
         
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
+        updateRest(archetype, start, end);
     }
     
-    private void handleBoundary(PhysicsComponent physics) {
+    /**
+     * 静止检测：低速步数累计到 sleepTicks 的行进入休眠
+     */
+    private void updateRest(Archetype archetype, int start, int end) {
+        boolean[] enabled = archetype.getPhysicsEnabled();
+        boolean[] active = archetype.getPhysicsActive();
+        float[] vel = archetype.getVelocities();
+        int[] rest = archetype.getRestTicks();
+        PhysicsComponent[] bodies = archetype.getPhysicsComponents();
+        float threshold = sleepSpeed * sleepSpeed;
+        int awake = 0, sleeping = 0;
+        for (int row = start; row < end; row++) {
+            if (!active[row]) {
+                if (enabled[row]) sleeping++;
+                continue;
+            }
+            float vx = vel[2 * row], vy = vel[2 * row + 1];
+            if (sleepTicks <= 0 || vx * vx + vy * vy > threshold) {
+                rest[row] = 0;
+                awake++;
+                continue;
+            }
+            if (++rest[row] >= sleepTicks && bodies[row].isAllowSleep()) {
+                archetype.sleep(row);
+                sleeping++;
+            } else {
+                awake++;
+            }
+        }
+        awakeBodies.addAndGet(awake);
+        sleepingBodies.addAndGet(sleeping);
+    }
+    
+    /**
+     * 对象路径：积分 + 边界处理，全部使用分量访问，每个物体不分配对象
+     */
+    private void integrateBody(PhysicsComponent physics, float deltaTime) {
         GameObject owner = physics.getOwner();
         if (owner == null) return;
         
         TransformComponent transform = owner.getComponent(TransformComponent.class);
         if (transform == null) return;
         
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
+        float ax = physics.getAccelerationX();
+        float ay = physics.getAccelerationY();
+        if (physics.isUseGravity()) {
+            ax += physics.getGravityX();
+            ay += physics.getGravityY();
+        }
         
-        boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
+        float friction = physics.getFriction();
+        float vx = (physics.getVelocityX() + ax * deltaTime) * friction;
+        float vy = (physics.getVelocityY() + ay * deltaTime) * friction;
+        float px = transform.getX() + vx * deltaTime;
+        float py = transform.getY() + vy * deltaTime;
+        physics.setAcceleration(0, 0);
         
-        if (posX <= 0 || posX >= screenWidth - 15) {
-            if (owner.getName().equals("Fireball")) {
-                scene.removeGameObject(owner);
-                return;
-            }
-            else{
-                velX = -velX;
-                velocityChanged = true;
-            }
-        }
-        if (posY <= 0 || posY >= screenHeight - 15) {
-            if (owner.getName().equals("Fireball")) {
-                scene.removeGameObject(owner);
-                return;
-            }
-            else{
-                velY = -velY;
-                velocityChanged = true;
-            }
+        // 边界处理
+        float maxX = screenWidth - 15;
+        float maxY = screenHeight - 15;
+        boolean outX = px <= 0 || px >= maxX;
+        boolean outY = py <= 0 || py >= maxY;
+        if ((outX || outY) && owner.hasTag(Tag.FIREBALL)) {
+            transform.setPosition(px, py);
+            physics.setVelocity(vx, vy);
+            scene.removeGameObject(owner);
+            return;
         }
+        if (outX) vx = -vx;
+        if (outY) vy = -vy;
         
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
+        if (px < 0) px = 0;
+        if (py < 0) py = 0;
+        if (px > maxX) px = maxX;
+        if (py > maxY) py = maxY;
         
-        transform.setPosition(new Vector2(posX, posY));
+        transform.setPosition(px, py);
+        physics.setVelocity(vx, vy);
         
-        if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+        // 静止检测
+        if (sleepTicks > 0) {
+            boolean resting = vx * vx + vy * vy <= sleepSpeed * sleepSpeed;
+            if (physics.accumulateRest(resting) >= sleepTicks) {
+                physics.sleep();
+            }
         }
     }
     
-    public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+    /**
+     * 设置休眠条件：速度低于 speed（像素/秒）持续 ticks 步；ticks <= 0 关闭休眠
+     */
+    public void setSleepThreshold(float speed, int ticks) {
+        this.sleepSpeed = Math.max(0, speed);
+        this.sleepTicks = ticks;
+    }
+    
+    public float getSleepSpeed() {
+        return sleepSpeed;
+    }
+    
+    public int getSleepTicks() {
+        return sleepTicks;
+    }
+    
+    /**
+     * 上一次 update 中参与积分的物体数
+     */
+    public int getAwakeCount() {
+        return awakeBodies.get();
+    }
+    
+    /**
+     * 上一次 update 中处于休眠的物体数
+     */
+    public int getSleepingCount() {
+        return sleepingBodies.get();
+    }
+    
+    public PhysicsKernels getKernels() {
+        return kernels;
+    }
+    
+    public void setKernels(PhysicsKernels kernels) {
+        this.kernels = kernels != null ? kernels : PhysicsKernels.scalar();
+    }
+    
+    /**
+     * 并行循环及其调度统计
+     */
+    public ParallelFor getParallelFor() {
+        return parallelFor;
     }
 }
-
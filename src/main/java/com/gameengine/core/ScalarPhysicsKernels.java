@@ -0,0 +1,43 @@
+package com.gameengine.core;
+
+/**
+ * 物理内核的标量实现，也是向量实现处理尾部与含禁用行分块时的回退
+ */
+final class ScalarPhysicsKernels implements PhysicsKernels {
+    static final ScalarPhysicsKernels INSTANCE = new ScalarPhysicsKernels();
+
+    private ScalarPhysicsKernels() {}
+
+    @Override
+    public void integrate(float[] pos, float[] vel, float[] acc, float[] grav, float[] friction, boolean[] enabled,
+                          int start, int end, float dt) {
+        for (int row = start; row < end; row++) {
+            if (!enabled[row]) continue;
+            int ix = 2 * row, iy = ix + 1;
+            float vx = (vel[ix] + (acc[ix] + grav[ix]) * dt) * friction[row];
+            float vy = (vel[iy] + (acc[iy] + grav[iy]) * dt) * friction[row];
+            vel[ix] = vx;
+            vel[iy] = vy;
+            pos[ix] += vx * dt;
+            pos[iy] += vy * dt;
+            acc[ix] = 0;
+            acc[iy] = 0;
+        }
+    }
+
+    @Override
+    public int nextOutOfBounds(float[] pos, boolean[] enabled, int from, int end, float maxX, float maxY) {
+        for (int row = from; row < end; row++) {
+            if (!enabled[row]) continue;
+            float px = pos[2 * row];
+            float py = pos[2 * row + 1];
+            if (px <= 0 || px >= maxX || py <= 0 || py >= maxY) return row;
+        }
+        return -1;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
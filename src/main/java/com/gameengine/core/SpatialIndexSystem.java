@@ -0,0 +1,120 @@
+package com.gameengine.core;
+
+import com.gameengine.collision.AabbTree;
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.Scene;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 空间索引系统：每帧用场景内所有启用碰撞体的包围盒更新一棵动态包围盒树，供游戏代码做区域、半径和射线查询
+ * 代理 id 为实体句柄的槽位下标，回调里用 getObject(id) 取回对象
+ * 没移出胖包围盒的物体（包括静止和休眠的物体）不改动树
+ * 查询应在本系统更新之后、下一次更新之前进行（如场景 update 中）
+ */
+public class SpatialIndexSystem implements GameSystem {
+    private static final Set<Class<?>> READS = Set.of(TransformComponent.class, ColliderComponent.class);
+
+    private final Scene scene;
+    private final AabbTree tree;
+    private GameObject[] objects = new GameObject[0];
+    private final float[] shape = new float[GameLogic.SHAPE_STRIDE];
+
+    public SpatialIndexSystem(Scene scene) {
+        this(scene, new AabbTree());
+    }
+
+    public SpatialIndexSystem(Scene scene, AabbTree tree) {
+        this.scene = scene;
+        this.tree = tree;
+    }
+
+    @Override
+    public Set<Class<?>> reads() {
+        return READS;
+    }
+
+    @Override
+    public Set<Class<?>> writes() {
+        return Set.of();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        List<ColliderComponent> colliders = scene.getComponents(ColliderComponent.class);
+        tree.beginUpdate();
+        for (int i = 0, n = colliders.size(); i < n; i++) {
+            ColliderComponent collider = colliders.get(i);
+            GameObject obj = collider.getOwner();
+            if (!obj.isActive() || obj.getHandle() == EntityAllocator.NONE) continue;
+            ColliderComponent.ColliderType type = GameLogic.readShape(obj, shape, 0);
+            if (type == null) continue;
+            float hw, hh;
+            if (type == ColliderComponent.ColliderType.CIRCLE) {
+                hw = hh = shape[4];
+            } else {
+                hw = shape[2] / 2;
+                hh = shape[3] / 2;
+            }
+            int id = EntityAllocator.indexOf(obj.getHandle());
+            if (id >= objects.length) {
+                objects = Arrays.copyOf(objects, Math.max(id + 1, Math.max(256, objects.length * 2)));
+            }
+            objects[id] = obj;
+            tree.update(id, shape[0] - hw, shape[1] - hh, shape[0] + hw, shape[1] + hh,
+                        collider.getCategory(), collider.getMask());
+        }
+        tree.endUpdate();
+    }
+
+    /**
+     * 代理 id 对应的对象；id 不在索引中时返回 null
+     */
+    public GameObject getObject(int id) {
+        return tree.contains(id) ? objects[id] : null;
+    }
+
+    public void queryAabb(float minX, float minY, float maxX, float maxY, AabbTree.QueryCallback callback) {
+        tree.queryAabb(minX, minY, maxX, maxY, callback);
+    }
+
+    /**
+     * 只查询分类位与 layerMask 匹配的碰撞体（如 CollisionLayer.ENEMY.getBit()）
+     */
+    public void queryAabb(float minX, float minY, float maxX, float maxY, int layerMask, AabbTree.QueryCallback callback) {
+        tree.queryAabb(minX, minY, maxX, maxY, layerMask, callback);
+    }
+
+    public void queryRadius(float x, float y, float radius, AabbTree.QueryCallback callback) {
+        tree.queryRadius(x, y, radius, callback);
+    }
+
+    public void queryRadius(float x, float y, float radius, int layerMask, AabbTree.QueryCallback callback) {
+        tree.queryRadius(x, y, radius, layerMask, callback);
+    }
+
+    public void raycast(float x0, float y0, float x1, float y1, AabbTree.RayCastCallback callback) {
+        tree.raycast(x0, y0, x1, y1, callback);
+    }
+
+    public void raycast(float x0, float y0, float x1, float y1, int layerMask, AabbTree.RayCastCallback callback) {
+        tree.raycast(x0, y0, x1, y1, layerMask, callback);
+    }
+
+    public AabbTree getTree() {
+        return tree;
+    }
+
+    public void clear() {
+        tree.clear();
+        Arrays.fill(objects, null);
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+}
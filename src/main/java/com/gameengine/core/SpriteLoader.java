@@ -23,13 +23,11 @@ public class SpriteLoader {
         } catch (IOException e) {
             System.err.println("预加载敌人图片失败: " + e.getMessage());
         }
-        BufferedImage flipped_image = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
-        Graphics2D g = flipped_image.createGraphics();
-        g.drawImage(image, 0, 0, image.getWidth(), image.getHeight(),
-                    image.getWidth(), 0, 0, image.getHeight(), null);
-        g.dispose();
-        images.put("FlippedEnemyImage", flipped_image);
+        if (image != null) {
+            images.put("FlippedEnemyImage", flip(image));
+        }
     
+        image = null;
         try {
             File file = new File("sprites/Hulu.png");
             image = ImageIO.read(file);
@@ -37,12 +35,9 @@ public class SpriteLoader {
         } catch (IOException e) {
             System.err.println("无法加载图片: " + e.getMessage());
         }
-        flipped_image = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
-        g = flipped_image.createGraphics();
-        g.drawImage(image, 0, 0, image.getWidth(), image.getHeight(),
-                    image.getWidth(), 0, 0, image.getHeight(), null);
-        g.dispose();
-        images.put("FlippedPlayerImage", flipped_image);
+        if (image != null) {
+            images.put("FlippedPlayerImage", flip(image));
+        }
         
         try {
             File file = new File("sprites/Fireball.png");
@@ -61,6 +56,16 @@ public class SpriteLoader {
         }
     }
 
+    // 水平翻转（图片缺失时不生成翻转图，例如在没有 sprites 目录的工作目录下运行）
+    private static BufferedImage flip(BufferedImage image) {
+        BufferedImage flipped_image = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+        Graphics2D g = flipped_image.createGraphics();
+        g.drawImage(image, 0, 0, image.getWidth(), image.getHeight(),
+                    image.getWidth(), 0, 0, image.getHeight(), null);
+        g.dispose();
+        return flipped_image;
+    }
+
     public static SpriteLoader getInstance(){
         if (instace == null)
             instace = new SpriteLoader();
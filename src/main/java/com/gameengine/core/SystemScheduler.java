@@ -0,0 +1,159 @@
+package com.gameengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 系统调度器：根据各系统声明的读写集合把系统分成若干阶段
+ * 两个系统冲突指一方写入的组件被另一方读或写；冲突的系统按注册顺序先后执行，
+ * 不冲突的系统放在同一阶段，由线程池并行执行，阶段之间是同步点
+ */
+public class SystemScheduler {
+    private final List<GameSystem> systems;
+    private final List<List<GameSystem>> stages;
+    private final List<ForkJoinTask<?>> pending;
+    private boolean dirty;
+    private FrameProfiler profiler;
+    private final WorkerPool workerPool;
+
+    public SystemScheduler(WorkerPool workerPool) {
+        this.workerPool = workerPool;
+        this.systems = new ArrayList<>();
+        this.stages = new ArrayList<>();
+        this.pending = new ArrayList<>();
+        this.dirty = false;
+    }
+
+    public void addSystem(GameSystem system) {
+        if (system == null || systems.contains(system)) return;
+        systems.add(system);
+        dirty = true;
+    }
+
+    public void removeSystem(GameSystem system) {
+        if (systems.remove(system)) {
+            dirty = true;
+        }
+    }
+
+    public void clear() {
+        systems.clear();
+        stages.clear();
+        dirty = false;
+    }
+
+    /**
+     * 设置帧分析器，每个系统的耗时记入其声明的阶段
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public List<GameSystem> getSystems() {
+        return systems;
+    }
+
+    /**
+     * 当前的阶段划分（按需重建），同一阶段内的系统并行执行
+     */
+    List<List<GameSystem>> getStages() {
+        if (dirty) {
+            buildStages();
+        }
+        return stages;
+    }
+
+    /**
+     * 执行所有系统：阶段依次执行，阶段内的系统并行执行
+     */
+    public void update(float deltaTime) {
+        if (dirty) {
+            buildStages();
+        }
+        for (List<GameSystem> stage : stages) {
+            if (stage.size() == 1) {
+                runSystem(stage.get(0), deltaTime);
+                continue;
+            }
+            // 其余系统交给线程池，第一个在当前线程执行
+            for (int i = 1; i < stage.size(); i++) {
+                GameSystem system = stage.get(i);
+                pending.add(workerPool.submit(() -> runSystem(system, deltaTime)));
+            }
+            runSystem(stage.get(0), deltaTime);
+            for (ForkJoinTask<?> task : pending) {
+                task.join();
+            }
+            pending.clear();
+        }
+    }
+
+    private void runSystem(GameSystem system, float deltaTime) {
+        FrameProfiler p = profiler;
+        long start = p != null ? p.begin() : 0L;
+        try {
+            system.update(deltaTime);
+            if (p != null) {
+                p.end(system.getProfilerPhase(), start);
+            }
+        } catch (Exception e) {
+            System.err.println("系统执行失败: " + system.getName());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 每个系统放在它之前所有冲突系统所在阶段的下一阶段
+     */
+    private void buildStages() {
+        stages.clear();
+        int[] stageOf = new int[systems.size()];
+        for (int i = 0; i < systems.size(); i++) {
+            int stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (conflicts(systems.get(i), systems.get(j))) {
+                    stage = Math.max(stage, stageOf[j] + 1);
+                }
+            }
+            stageOf[i] = stage;
+            while (stages.size() <= stage) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(stage).add(systems.get(i));
+        }
+        dirty = false;
+    }
+
+    private static boolean conflicts(GameSystem a, GameSystem b) {
+        return intersects(a.writes(), b.reads()) || intersects(a.writes(), b.writes())
+            || intersects(b.writes(), a.reads());
+    }
+
+    private static boolean intersects(Set<Class<?>> a, Set<Class<?>> b) {
+        for (Class<?> type : a) {
+            if (b.contains(type)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 阶段划分，便于调试输出
+     */
+    @Override
+    public String toString() {
+        if (dirty) {
+            buildStages();
+        }
+        StringBuilder sb = new StringBuilder("SystemScheduler");
+        for (int i = 0; i < stages.size(); i++) {
+            sb.append(" [").append(i).append(':');
+            for (GameSystem system : stages.get(i)) {
+                sb.append(' ').append(system.getName());
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.gameengine.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 实体标签：按名称驻留，每个标签对应 64 位掩码中的一位
+ * GameObject 用位掩码记录自身标签，Scene 按标签维护成员列表
+ */
+public final class Tag {
+    public static final int MAX_TAGS = 64;
+
+    private static final Map<String, Tag> tags = new HashMap<>();
+    private static int nextIndex = 0;
+
+    // 游戏内置标签
+    public static final Tag PLAYER = of("Player");
+    public static final Tag ENEMY = of("Enemy");
+    public static final Tag FIREBALL = of("Fireball");
+
+    private final String name;
+    private final int index;
+    private final long mask;
+
+    private Tag(String name, int index) {
+        this.name = name;
+        this.index = index;
+        this.mask = 1L << index;
+    }
+
+    /**
+     * 获取（必要时创建）指定名称的标签
+     */
+    public static synchronized Tag of(String name) {
+        Tag tag = tags.get(name);
+        if (tag == null) {
+            if (nextIndex >= MAX_TAGS) {
+                throw new IllegalStateException("标签数量超过上限 " + MAX_TAGS + ": " + name);
+            }
+            tag = new Tag(name, nextIndex++);
+            tags.put(name, tag);
+        }
+        return tag;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
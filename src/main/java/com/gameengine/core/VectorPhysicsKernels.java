@@ -0,0 +1,81 @@
+package com.gameengine.core;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 物理内核的 Vector API 实现，只通过 PhysicsKernels.vector() 反射加载
+ * 交错列一次处理 LANES 个 float（LANES / 2 行）；分块内含禁用行、或剩余不足一块时交给标量实现
+ * 逐元素运算顺序与标量实现一致（不用 fma），两条路径结果相同
+ */
+final class VectorPhysicsKernels implements PhysicsKernels {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int ROWS = LANES / 2;
+    // 每行的摩擦系数复制到 x、y 两个通道：{0, 0, 1, 1, ...}
+    private static final int[] PAIR_INDEX = new int[LANES];
+    // 奇数通道（y 分量）
+    private static final VectorMask<Float> Y_LANES;
+
+    static {
+        boolean[] odd = new boolean[LANES];
+        for (int i = 0; i < LANES; i++) {
+            PAIR_INDEX[i] = i / 2;
+            odd[i] = (i & 1) == 1;
+        }
+        Y_LANES = VectorMask.fromArray(SPECIES, odd, 0);
+    }
+
+    private final ScalarPhysicsKernels scalar = ScalarPhysicsKernels.INSTANCE;
+
+    @Override
+    public void integrate(float[] pos, float[] vel, float[] acc, float[] grav, float[] friction, boolean[] enabled,
+                          int start, int end, float dt) {
+        FloatVector zero = FloatVector.zero(SPECIES);
+        int row = start;
+        for (; row + ROWS <= end; row += ROWS) {
+            if (!allEnabled(enabled, row)) {
+                scalar.integrate(pos, vel, acc, grav, friction, enabled, row, row + ROWS, dt);
+                continue;
+            }
+            int i = 2 * row;
+            FloatVector a = FloatVector.fromArray(SPECIES, acc, i).add(FloatVector.fromArray(SPECIES, grav, i));
+            FloatVector f = FloatVector.fromArray(SPECIES, friction, row, PAIR_INDEX, 0);
+            FloatVector v = FloatVector.fromArray(SPECIES, vel, i).add(a.mul(dt)).mul(f);
+            v.intoArray(vel, i);
+            FloatVector.fromArray(SPECIES, pos, i).add(v.mul(dt)).intoArray(pos, i);
+            zero.intoArray(acc, i);
+        }
+        scalar.integrate(pos, vel, acc, grav, friction, enabled, row, end, dt);
+    }
+
+    @Override
+    public int nextOutOfBounds(float[] pos, boolean[] enabled, int from, int end, float maxX, float maxY) {
+        FloatVector max = FloatVector.broadcast(SPECIES, maxX).blend(maxY, Y_LANES);
+        int row = from;
+        for (; row + ROWS <= end; row += ROWS) {
+            FloatVector p = FloatVector.fromArray(SPECIES, pos, 2 * row);
+            VectorMask<Float> out = p.compare(VectorOperators.LE, 0f).or(p.compare(VectorOperators.GE, max));
+            if (out.anyTrue()) {
+                // 少见情况：在该分块内逐行确认（同时排除禁用行）
+                int hit = scalar.nextOutOfBounds(pos, enabled, row, row + ROWS, maxX, maxY);
+                if (hit >= 0) return hit;
+            }
+        }
+        return scalar.nextOutOfBounds(pos, enabled, row, end, maxX, maxY);
+    }
+
+    private static boolean allEnabled(boolean[] enabled, int row) {
+        for (int i = row; i < row + ROWS; i++) {
+            if (!enabled[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "vector(" + SPECIES + ")";
+    }
+}
@@ -0,0 +1,257 @@
+package com.gameengine.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 引擎工作线程池：由 GameEngine 创建一次，所有系统（调度器、物理、碰撞）共用
+ * 线程数按容器的 CPU 配额（cgroup v2 cpu.max / v1 cfs_quota）与 availableProcessors 取小，
+ * 留出一个核心给主线程；可用 -Dgameengine.workers=N 覆盖
+ * 统计队列深度、任务排队延迟与执行时间
+ */
+public class WorkerPool {
+    public static final String WORKERS_PROPERTY = "gameengine.workers";
+
+    private final ForkJoinPool pool;
+    private final int cpuCount;
+
+    // 统计
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    public WorkerPool() {
+        this(defaultParallelism());
+    }
+
+    public WorkerPool(int parallelism) {
+        this.cpuCount = detectCpuCount();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("engine-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), factory, null, false);
+    }
+
+    /**
+     * 默认线程数：属性覆盖，否则为可用 CPU 数减一（至少 1）
+     */
+    public static int defaultParallelism() {
+        Integer configured = Integer.getInteger(WORKERS_PROPERTY);
+        if (configured != null && configured > 0) {
+            return configured;
+        }
+        return Math.max(1, detectCpuCount() - 1);
+    }
+
+    /**
+     * 实际可用的 CPU 数：availableProcessors 与 cgroup 配额取小
+     */
+    public static int detectCpuCount() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        double quota = readCgroupQuota();
+        if (quota > 0) {
+            cpus = Math.min(cpus, (int) Math.max(1, Math.ceil(quota)));
+        }
+        return Math.max(1, cpus);
+    }
+
+    /**
+     * 读取 cgroup CPU 配额（核数），无限制或读取失败时返回 -1
+     */
+    private static double readCgroupQuota() {
+        // cgroup v2: "max 100000" 或 "200000 100000"
+        String v2 = readFirstLine(Paths.get("/sys/fs/cgroup/cpu.max"));
+        if (v2 != null) {
+            String[] parts = v2.trim().split("\\s+");
+            if (parts.length == 2 && !parts[0].equals("max")) {
+                return parseRatio(parts[0], parts[1]);
+            }
+            return -1;
+        }
+        // cgroup v1
+        String quota = readFirstLine(Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_quota_us"));
+        String period = readFirstLine(Paths.get("/sys/fs/cgroup/cpu/cpu.cfs_period_us"));
+        if (quota != null && period != null) {
+            return parseRatio(quota.trim(), period.trim());
+        }
+        return -1;
+    }
+
+    private static double parseRatio(String quota, String period) {
+        try {
+            long q = Long.parseLong(quota);
+            long p = Long.parseLong(period);
+            return q > 0 && p > 0 ? (double) q / p : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String readFirstLine(Path path) {
+        try {
+            if (!Files.isReadable(path)) return null;
+            return Files.readAllLines(path).stream().findFirst().orElse(null);
+        } catch (IOException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 异步提交任务，返回可 join 的句柄
+     */
+    public ForkJoinTask<?> submit(Runnable task) {
+        return pool.submit(new TimedAction(task, null));
+    }
+
+    /**
+     * 同步执行 fork/join 任务；已在本池工作线程上时直接执行，不再排队
+     */
+    public void invoke(ForkJoinTask<?> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+            return;
+        }
+        pool.invoke(new TimedAction(null, task));
+    }
+
+    /**
+     * 包装任务以记录排队延迟（提交到开始执行）与执行时间
+     */
+    private final class TimedAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Runnable runnable;
+        private final ForkJoinTask<?> task;
+        private final long submittedAt;
+
+        TimedAction(Runnable runnable, ForkJoinTask<?> task) {
+            this.runnable = runnable;
+            this.task = task;
+            this.submittedAt = System.nanoTime();
+            submitted.increment();
+        }
+
+        @Override
+        protected void compute() {
+            long start = System.nanoTime();
+            record(queueNanos, maxQueueNanos, start - submittedAt);
+            try {
+                if (runnable != null) {
+                    runnable.run();
+                } else {
+                    task.invoke();
+                }
+            } finally {
+                record(runNanos, maxRunNanos, System.nanoTime() - start);
+                completed.increment();
+            }
+        }
+    }
+
+    private static void record(LongAdder sum, AtomicLong max, long nanos) {
+        sum.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * 检测到的可用 CPU 数（含 cgroup 配额）
+     */
+    public int getCpuCount() {
+        return cpuCount;
+    }
+
+    /**
+     * 当前排队中的任务数（外部提交 + 工作线程队列）
+     */
+    public long getQueueDepth() {
+        return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+    }
+
+    public int getActiveThreadCount() {
+        return pool.getActiveThreadCount();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public double getMeanQueueNanos() {
+        long n = completed.sum();
+        return n == 0 ? 0 : (double) queueNanos.sum() / n;
+    }
+
+    public long getMaxQueueNanos() {
+        return maxQueueNanos.get();
+    }
+
+    public double getMeanRunNanos() {
+        long n = completed.sum();
+        return n == 0 ? 0 : (double) runNanos.sum() / n;
+    }
+
+    public long getMaxRunNanos() {
+        return maxRunNanos.get();
+    }
+
+    public void resetStats() {
+        submitted.reset();
+        completed.reset();
+        queueNanos.reset();
+        runNanos.reset();
+        maxQueueNanos.set(0);
+        maxRunNanos.set(0);
+    }
+
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * 关闭线程池，最多等待 1 秒
+     */
+    public void shutdown() {
+        if (pool.isShutdown()) return;
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WorkerPool[threads=%d cpus=%d] tasks=%d queue=%d wait(mean=%.1fus max=%.1fus) run(mean=%.1fus max=%.1fus)",
+                getParallelism(), cpuCount, getCompletedCount(), getQueueDepth(),
+                getMeanQueueNanos() / 1000.0, maxQueueNanos.get() / 1000.0,
+                getMeanRunNanos() / 1000.0, maxRunNanos.get() / 1000.0);
+    }
+}
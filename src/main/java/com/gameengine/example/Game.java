@@ -12,6 +12,8 @@ public class Game {
         try {
             // System.out.println("使用渲染后端: GPU");
             engine = new GameEngine(1920, 1080, "游戏引擎", RenderBackend.GPU);
+            // 模拟以固定 60Hz 推进，渲染在两步之间插值
+            engine.setFixedTickRate(60);
 
             MenuScene menuScene = new MenuScene(engine, "MainMenu");
             engine.setScene(menuScene);
@@ -3,6 +3,7 @@ package com.gameengine.example;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
+import com.gameengine.collision.CollisionLayer;
 import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.EnemyController;
 import com.gameengine.components.FireballComponent;
@@ -13,7 +14,11 @@ import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.GameObjectPool;
 import com.gameengine.core.SpriteLoader;
+import com.gameengine.core.SpatialIndexSystem;
+import com.gameengine.core.SystemScheduler;
+import com.gameengine.core.Tag;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
@@ -25,6 +30,8 @@ public class GameScene extends Scene {
     private SpriteLoader spriteLoader = SpriteLoader.getInstance();
     private float time;
     private GameLogic gameLogic;
+    // 区域/半径/射线查询用的空间索引
+    private SpatialIndexSystem spatialIndex;
     private boolean waitingReturn;
     private float waitInputTimer;
     private float freezeTimer;
@@ -33,10 +40,13 @@ public class GameScene extends Scene {
 
     private int playerIdTop = 0;
     private int enemyIdTop = 0;
+    private GameObjectPool enemyPool;
 
     public GameScene(GameEngine engine) {
         super("GameScene");
         this.engine = engine;
+        // 位置/速度/碰撞体数据使用原型列存储
+        setArchetypeStorageEnabled(true);
     }
     
     @Override
@@ -45,7 +55,9 @@ public class GameScene extends Scene {
         this.renderer = engine.getRenderer();
         this.random = new Random();
         this.time = 0;
-        this.gameLogic = new GameLogic(this);
+        this.gameLogic = new GameLogic(this, engine.getWorkerPool());
+        this.spatialIndex = new SpatialIndexSystem(this);
+        this.enemyPool = new GameObjectPool("Enemy", this::buildEnemy, GameScene::resetEnemy, 256);
         
         // 创建游戏对象
         createPlayer();
@@ -57,9 +69,8 @@ public class GameScene extends Scene {
         super.update(deltaTime);
         time += deltaTime;
         
-        boolean wasGameOver = gameLogic.isGameOver();
-        gameLogic.checkCollisions();
-        if (gameLogic.isGameOver() && !wasGameOver) {
+        // 碰撞检测由调度器在物理之后执行，这里只响应上一帧的结果
+        if (gameLogic.isGameOver() && !waitingReturn) {
             waitingReturn = true;
             waitInputTimer = 0f;
             freezeTimer = 0f;
@@ -84,6 +95,16 @@ public class GameScene extends Scene {
         }
     }
     
+    @Override
+    public void registerSystems(SystemScheduler scheduler) {
+        scheduler.addSystem(gameLogic);
+        scheduler.addSystem(spatialIndex);
+    }
+
+    public SpatialIndexSystem getSpatialIndex() {
+        return spatialIndex;
+    }
+    
     @Override
     public void render() {
         // 绘制背景
@@ -146,6 +167,7 @@ public class GameScene extends Scene {
             20, 
             40, 
             new Vector2(0, 5)));
+        collider.setLayer(CollisionLayer.PLAYER);
         collider.setShowBound(false);
         collider.setRenderer(renderer);
 
@@ -166,8 +188,24 @@ public class GameScene extends Scene {
         }
     }
     
-    // 创建敌人
+    // 创建敌人（从对象池取出后重新设定位置）
     private void createEnemy() {
+        GameObject enemy = enemyPool.acquire();
+        enemy.setId(enemyIdTop);
+        enemyIdTop++;
+        
+        // 随机位置
+        TransformComponent transform = enemy.getComponent(TransformComponent.class);
+        transform.setPosition(new Vector2(
+            random.nextFloat() * renderer.getWidth(),
+            random.nextFloat() * renderer.getHeight()
+        ));
+
+        addGameObject(enemy);
+    }
+
+    // 构建敌人对象及其组件（仅在对象池未命中时调用）
+    private GameObject buildEnemy() {
         GameObject enemy = new GameObject("Enemy") {
             private int facingDirection = 1;
             @Override
@@ -182,18 +220,9 @@ public class GameScene extends Scene {
                 renderComponents();
             }
         };
-        enemy.setId(enemyIdTop);
-        enemyIdTop++;
-        
-        // 随机位置
-        Vector2 position;
-        position = new Vector2(
-            random.nextFloat() * renderer.getWidth(),
-            random.nextFloat() * renderer.getHeight()
-        );
         
         // 添加变换组件
-        TransformComponent transform = enemy.addComponent(new TransformComponent(position));
+        TransformComponent transform = enemy.addComponent(new TransformComponent(new Vector2()));
         transform.setScale(new Vector2(60, 80));
 
         // 添加渲染组件
@@ -213,24 +242,35 @@ public class GameScene extends Scene {
             22,
             55,
             new Vector2(0, 15)));
+        collider.setLayer(CollisionLayer.ENEMY);
         collider.setShowBound(false);
         collider.setRenderer(renderer);
 
         enemy.addComponent(new EnemyController(enemy, player, 50, gameLogic));
+        return enemy;
+    }
 
-        addGameObject(enemy);
+    private static void resetEnemy(GameObject enemy) {
+        PhysicsComponent physics = enemy.getComponent(PhysicsComponent.class);
+        physics.setVelocity(0, 0);
+        physics.setAcceleration(new Vector2());
+    }
+
+    public GameObjectPool getEnemyPool() {
+        return enemyPool;
     }
     
     // 翻转方向
     public int parseFlip(int facingDirection, GameObject obj){
-        if (!obj.hasComponent(PhysicsComponent.class)) return facingDirection;
         PhysicsComponent physics = obj.getComponent(PhysicsComponent.class);
-        if ((physics.getVelocity().x > 0 && facingDirection < 0)
-            || physics.getVelocity().x < 0 && facingDirection > 0){
+        if (physics == null) return facingDirection;
+        float velocityX = physics.getVelocity().x;
+        if ((velocityX > 0 && facingDirection < 0)
+            || velocityX < 0 && facingDirection > 0){
             facingDirection *= -1;
-            if (!obj.hasComponent(RenderComponent.class)) return facingDirection;
             RenderComponent render = obj.getComponent(RenderComponent.class);
-            if (obj.getName() == "Enemy"){
+            if (render == null) return facingDirection;
+            if (obj.hasTag(Tag.ENEMY)){
                 if (facingDirection > 0){
                     render.setImageKey("EnemyImage");
                     render.setImage(spriteLoader.GetImageByName(render.getImageKey()));
@@ -239,7 +279,7 @@ public class GameScene extends Scene {
                     render.setImageKey("FlippedEnemyImage");
                     render.setImage(spriteLoader.GetImageByName(render.getImageKey()));
                 }
-            } else if (obj.getName() == "Player")
+            } else if (obj.hasTag(Tag.PLAYER))
             {
                 if (facingDirection > 0){
                     render.setImageKey("PlayerImage");
@@ -253,12 +293,4 @@ public class GameScene extends Scene {
             return facingDirection;
         } else return facingDirection;
     }
-    
-    @Override
-    public void clear() {
-        if (gameLogic != null) {
-            gameLogic.cleanup();
-        }
-        super.clear();
-    }
 }
@@ -138,6 +138,14 @@ public class MenuScene extends Scene {
         }
     }
 
+    /**
+     * 菜单画面静止，只在按键时变化
+     */
+    @Override
+    public boolean isIdle() {
+        return !selectionMade;
+    }
+
     @Override
     public void render() {
         if (renderer == null) return;
@@ -3,7 +3,9 @@ package com.gameengine.example;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
@@ -44,9 +46,10 @@ public class ReplayScene extends Scene {
     }
 
     private final List<Keyframe> keyframes = new ArrayList<>();
-    private final List<GameObject> playerList = new ArrayList<>();
-    private final List<GameObject> enemyList = new ArrayList<>();
-    private final List<GameObject> fireballList = new ArrayList<>();
+    // 录制 id -> 实体句柄，查找时经 Scene.resolve 直接定位对象
+    private final Map<Integer, Integer> playerHandles = new HashMap<>();
+    private final Map<Integer, Integer> enemyHandles = new HashMap<>();
+    private final Map<Integer, Integer> fireballHandles = new HashMap<>();
 
     public ReplayScene(GameEngine engine, String path) {
         super("Replay");
@@ -63,9 +66,9 @@ public class ReplayScene extends Scene {
         // 重置状态，防止从列表进入后残留
         this.time = 0f;
         this.keyframes.clear();
-        this.playerList.clear();
-        this.enemyList.clear();
-        this.fireballList.clear();
+        this.playerHandles.clear();
+        this.enemyHandles.clear();
+        this.fireballHandles.clear();
         if (recordingPath != null) {
             loadRecording(recordingPath);
             buildObjectsFromFirstKeyframe();
@@ -129,21 +132,30 @@ public class ReplayScene extends Scene {
         keyframes.clear();
         RecordingStorage storage = new FileRecordingStorage();
         try {
-            for (String line : storage.readLines(path)) {
-                if (line.contains("\"type\":\"keyframe\"")) { // 读取关键帧
-                    Keyframe kf = new Keyframe();
-                    kf.t = RecordingJson.parseDouble(RecordingJson.field(line, "t"));
-                    parseEntityArrayToTarget(line, "players", kf.players);
-                    parseEntityArrayToTarget(line, "enemies", kf.enemies);
-                    parseEntityArrayToTarget(line, "fireballs", kf.fireballs);
-                    keyframes.add(kf);
-                }
-            }
+            parseRecording(storage.readLines(path));
         } catch (Exception e) {
             System.err.println("解析录制文件失败：" + path);
             e.printStackTrace();
         }
+    }
+
+    /**
+     * 解析录制内容中的关键帧（替换当前已加载的关键帧），返回关键帧数量
+     */
+    public int parseRecording(Iterable<String> lines) {
+        keyframes.clear();
+        for (String line : lines) {
+            if (line.contains("\"type\":\"keyframe\"")) { // 读取关键帧
+                Keyframe kf = new Keyframe();
+                kf.t = RecordingJson.parseDouble(RecordingJson.field(line, "t"));
+                parseEntityArrayToTarget(line, "players", kf.players);
+                parseEntityArrayToTarget(line, "enemies", kf.enemies);
+                parseEntityArrayToTarget(line, "fireballs", kf.fireballs);
+                keyframes.add(kf);
+            }
+        }
         keyframes.sort(Comparator.comparingDouble(k -> k.t));
+        return keyframes.size();
     }
 
     private void parseEntityArrayToTarget(String line, String arrayKey, List<Keyframe.EntityInfo> targetList) {
@@ -199,50 +211,51 @@ public class ReplayScene extends Scene {
     private void buildObjectsFromFirstKeyframe() {
         if (keyframes.isEmpty()) return;
         Keyframe kf0 = keyframes.get(0);
-        playerList.clear();
-        enemyList.clear();
-        fireballList.clear();
+        playerHandles.clear();
+        enemyHandles.clear();
+        fireballHandles.clear();
         clear();
         for (int i = 0; i < kf0.players.size(); i++) {
             if (kf0.players.get(i).status == 1){
                 GameObject obj = buildObjectFromEntity("Player", kf0.players.get(i), i);
                 addGameObject(obj);
-                playerList.add(obj);
+                playerHandles.put(obj.getId(), obj.getHandle());
             }
         }
         for (int i = 0; i < kf0.enemies.size(); i++) {
             if (kf0.enemies.get(i).status == 1){
                 GameObject obj = buildObjectFromEntity("Enemy", kf0.enemies.get(i), i);
                 addGameObject(obj);
-                enemyList.add(obj);
+                enemyHandles.put(obj.getId(), obj.getHandle());
             }
         }
         for (int i = 0; i < kf0.fireballs.size(); i++) {
             if (kf0.fireballs.get(i).status == 1){
                 GameObject obj = buildObjectFromEntity("Fireball", kf0.fireballs.get(i), i);
                 addGameObject(obj);
-                fireballList.add(obj);
+                fireballHandles.put(obj.getId(), obj.getHandle());
             }
         }
         time = 0f;
     }
     
     private void updateInterpolatedPositions(Keyframe a, Keyframe b, float u) {
-        updateObjectsForEntity(a.players, b.players, u, playerList, "Player");
-        updateObjectsForEntity(a.enemies, b.enemies, u, enemyList, "Enemy");
-        updateObjectsForEntity(a.fireballs, b.fireballs, u, fireballList, "Fireball");
+        updateObjectsForEntity(a.players, b.players, u, playerHandles, "Player");
+        updateObjectsForEntity(a.enemies, b.enemies, u, enemyHandles, "Enemy");
+        updateObjectsForEntity(a.fireballs, b.fireballs, u, fireballHandles, "Fireball");
     }
 
-    private GameObject findObjectWithId(List<GameObject> objList, int id){
-        return objList.stream().filter(obj -> obj.getId() == id).findFirst().orElse(null);
+    private GameObject findObjectWithId(Map<Integer, Integer> handles, int id){
+        Integer handle = handles.get(id);
+        return handle == null ? null : resolve(handle);
     }
 
-    private void ensureEntityNum(List<Keyframe.EntityInfo> a, List<GameObject> objList, String name)
+    private void ensureEntityNum(List<Keyframe.EntityInfo> a, Map<Integer, Integer> handles, String name)
     {
         int n = a.size();
         for (int i = 0; i < n; ++i){
             Keyframe.EntityInfo ei = a.get(i);
-            GameObject obj = findObjectWithId(objList, ei.id);
+            GameObject obj = findObjectWithId(handles, ei.id);
             if (ei.status == 1){
                 if (obj == null){
                     obj = new GameObject(name);
@@ -256,20 +269,20 @@ public class ReplayScene extends Scene {
                     render.setRenderer(renderer);
                     render.setRotation(ei.angle);
                     addGameObject(obj);
-                    objList.add(obj);
+                    handles.put(ei.id, obj.getHandle());
                 }
             } else{
                 if (obj != null){
                     removeGameObject(obj);
-                    objList.remove(obj);
+                    handles.remove(ei.id);
                 }
             }
         }
     }
 
-    private void updateObjectsForEntity(List<Keyframe.EntityInfo> a, List<Keyframe.EntityInfo> b, float u, List<GameObject> objList, String name){
+    private void updateObjectsForEntity(List<Keyframe.EntityInfo> a, List<Keyframe.EntityInfo> b, float u, Map<Integer, Integer> handles, String name){
         int n = a.size();
-        ensureEntityNum(a, objList, name);
+        ensureEntityNum(a, handles, name);
         for (int i = 0; i < n; ++i){
             Keyframe.EntityInfo eia = a.get(i);
             Keyframe.EntityInfo eib = b.get(i);
@@ -277,7 +290,7 @@ public class ReplayScene extends Scene {
                 if (eia.id == eib.id){
                     float x = (float)((1.0 - u) * eia.x + u * eib.x);
                     float y = (float)((1.0 - u) * eia.y + u * eib.y);
-                    GameObject obj = findObjectWithId(objList, eia.id);
+                    GameObject obj = findObjectWithId(handles, eia.id);
                     if (obj == null) continue;
                     TransformComponent tc = obj.getComponent(TransformComponent.class);
                     RenderComponent render = obj.getComponent(RenderComponent.class);
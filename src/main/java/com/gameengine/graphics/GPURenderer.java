@@ -274,6 +274,30 @@ public class GPURenderer implements IRenderer {
         GL11.glDisable(GL11.GL_TEXTURE_2D);
     }
 
+    @Override
+    public void drawImage(float x, float y, float width, float height, BufferedImage image, float rotation) {
+        if (rotation == 0.0f) {
+            drawImage(x, y, width, height, image);
+            return;
+        }
+        if (!initialized) {
+            return;
+        }
+        float centerX = x + width / 2;
+        float centerY = y + height / 2;
+        GL11.glPushMatrix();
+        try {
+            // 平移到图像中心旋转，再平移回原位置
+            GL11.glTranslatef(centerX, centerY, 0.0f);
+            GL11.glRotatef(rotation, 0.0f, 0.0f, 1.0f);
+            GL11.glTranslatef(-centerX, -centerY, 0.0f);
+            drawImage(x, y, width, height, image);
+        } finally {
+            // 恢复矩阵状态，避免影响后续绘制
+            GL11.glPopMatrix();
+        }
+    }
+    
     @Override
     public void drawImage(float x, float y, float width, float height, BufferedImage image) {
         if (!initialized || image == null) {
@@ -659,6 +683,13 @@ public class GPURenderer implements IRenderer {
         }
     }
     
+    @Override
+    public void waitEvents(double timeoutSeconds) {
+        if (initialized && window != MemoryUtil.NULL) {
+            GLFW.glfwWaitEventsTimeout(timeoutSeconds);
+        }
+    }
+    
     @Override
     public void cleanup() {
         for (Integer textureId : charTextures.values()) {
@@ -0,0 +1,165 @@
+package com.gameengine.graphics;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 无窗口渲染器：不创建 GLFW 窗口，绘制调用只计数后丢弃
+ * 用于没有显示设备的服务器、压力测试和基准测试
+ */
+public class HeadlessRenderer implements IRenderer {
+    private final int width;
+    private final int height;
+    private final String title;
+    private boolean closeRequested;
+
+    // 统计
+    private long frameCount;
+    private long drawCalls;
+    private long rectCalls;
+    private long circleCalls;
+    private long lineCalls;
+    private long textCalls;
+    private long imageCalls;
+
+    public HeadlessRenderer(int width, int height, String title) {
+        this.width = width;
+        this.height = height;
+        this.title = title;
+        this.closeRequested = false;
+    }
+
+    @Override
+    public void beginFrame() {
+    }
+
+    @Override
+    public void endFrame() {
+        frameCount++;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        rectCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        circleCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        lineCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        textCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public void drawImage(float x, float y, float width, float height, BufferedImage image) {
+        imageCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public void drawImage(float x, float y, float width, float height, BufferedImage image, float rotation) {
+        imageCalls++;
+        drawCalls++;
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return closeRequested;
+    }
+
+    /**
+     * 请求关闭，效果等同于关闭窗口
+     */
+    public void requestClose() {
+        this.closeRequested = true;
+    }
+
+    @Override
+    public void pollEvents() {
+    }
+
+    @Override
+    public void waitEvents(double timeoutSeconds) {
+        // 没有事件源，直接等到超时
+        LockSupport.parkNanos((long) (timeoutSeconds * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    /**
+     * 清零统计
+     */
+    public void resetCounters() {
+        frameCount = 0;
+        drawCalls = 0;
+        rectCalls = 0;
+        circleCalls = 0;
+        lineCalls = 0;
+        textCalls = 0;
+        imageCalls = 0;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getDrawCallCount() {
+        return drawCalls;
+    }
+
+    public long getRectCallCount() {
+        return rectCalls;
+    }
+
+    public long getCircleCallCount() {
+        return circleCalls;
+    }
+
+    public long getLineCallCount() {
+        return lineCalls;
+    }
+
+    public long getTextCallCount() {
+        return textCalls;
+    }
+
+    public long getImageCallCount() {
+        return imageCalls;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HeadlessRenderer frames=%d draws=%d (rect=%d circle=%d line=%d text=%d image=%d)",
+                frameCount, drawCalls, rectCalls, circleCalls, lineCalls, textCalls, imageCalls);
+    }
+}
@@ -11,9 +11,13 @@ public interface IRenderer {
     void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a);
     void drawText(float x, float y, String text, float r, float g, float b, float a);
     void drawImage(float x, float y, float width, float height, BufferedImage image);
+    /** 绘制绕自身中心旋转的图像，rotation 为角度制 */
+    void drawImage(float x, float y, float width, float height, BufferedImage image, float rotation);
     
     boolean shouldClose();
     void pollEvents();
+    /** 阻塞等待事件，最多等待 timeoutSeconds 秒 */
+    void waitEvents(double timeoutSeconds);
     void cleanup();
     
     int getWidth();
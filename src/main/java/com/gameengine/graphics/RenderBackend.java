@@ -1,6 +1,8 @@
 package com.gameengine.graphics;
 
 public enum RenderBackend {
-    GPU
+    GPU,
+    /** 无窗口，绘制调用只计数（服务器/测试用） */
+    HEADLESS
 }
 
@@ -0,0 +1,150 @@
+package com.gameengine.math;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑的二维向量数组：第 i 个向量存放在 data[2i]、data[2i+1]
+ * 布局与 Archetype 的位置/速度列一致，静态批量内核可直接作用于这些列
+ * 内核均为简单的计数循环、无分支无分配，便于 JIT 自动向量化
+ */
+public class Vec2Buffer {
+    private float[] data;
+    private int size;
+
+    public Vec2Buffer() {
+        this(16);
+    }
+
+    public Vec2Buffer(int capacity) {
+        this.data = new float[2 * Math.max(1, capacity)];
+        this.size = 0;
+    }
+
+    /**
+     * 追加一个向量，返回其下标
+     */
+    public int add(float x, float y) {
+        if (2 * size == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[2 * size] = x;
+        data[2 * size + 1] = y;
+        return size++;
+    }
+
+    public int add(Vector2 v) {
+        return add(v.x, v.y);
+    }
+
+    public void set(int index, float x, float y) {
+        data[2 * index] = x;
+        data[2 * index + 1] = y;
+    }
+
+    public float getX(int index) {
+        return data[2 * index];
+    }
+
+    public float getY(int index) {
+        return data[2 * index + 1];
+    }
+
+    /**
+     * 读出第 index 个向量到 out，避免分配
+     */
+    public Vector2 get(int index, Vector2 out) {
+        return out.set(data[2 * index], data[2 * index + 1]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 底层数组（长度可能大于 2 * size）
+     */
+    public float[] getData() {
+        return data;
+    }
+
+    // ---- 实例批量运算 ----
+
+    /**
+     * this[i] += x[i] * a
+     */
+    public void axpy(float a, Vec2Buffer x) {
+        axpy(a, x.data, data, 0, Math.min(size, x.size));
+    }
+
+    public void scale(float s) {
+        scale(data, s, 0, size);
+    }
+
+    public void normalizeAll() {
+        normalizeAll(data, 0, size);
+    }
+
+    /**
+     * out[i] = |this[i] - (px, py)|
+     */
+    public void distanceToPointAll(float px, float py, float[] out) {
+        distanceToPointAll(data, px, py, out, 0, size);
+    }
+
+    // ---- 静态内核：作用于交错存放的 float[]，[start, end) 为向量下标 ----
+
+    /**
+     * y[i] += x[i] * a
+     */
+    public static void axpy(float a, float[] x, float[] y, int start, int end) {
+        for (int i = 2 * start, n = 2 * end; i < n; i++) {
+            y[i] += x[i] * a;
+        }
+    }
+
+    public static void scale(float[] v, float s, int start, int end) {
+        for (int i = 2 * start, n = 2 * end; i < n; i++) {
+            v[i] *= s;
+        }
+    }
+
+    /**
+     * 逐个标准化，零向量保持为零
+     */
+    public static void normalizeAll(float[] v, int start, int end) {
+        for (int i = start; i < end; i++) {
+            float x = v[2 * i];
+            float y = v[2 * i + 1];
+            float magSq = x * x + y * y;
+            float inv = magSq > 0 ? (float) (1.0 / Math.sqrt(magSq)) : 0f;
+            v[2 * i] = x * inv;
+            v[2 * i + 1] = y * inv;
+        }
+    }
+
+    /**
+     * out[i] = |v[i] - (px, py)|
+     */
+    public static void distanceToPointAll(float[] v, float px, float py, float[] out, int start, int end) {
+        for (int i = start; i < end; i++) {
+            float dx = v[2 * i] - px;
+            float dy = v[2 * i + 1] - py;
+            out[i] = (float) Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    /**
+     * out[i] = |v[i] - (px, py)|²
+     */
+    public static void distanceSqToPointAll(float[] v, float px, float py, float[] out, int start, int end) {
+        for (int i = start; i < end; i++) {
+            float dx = v[2 * i] - px;
+            float dy = v[2 * i + 1] - py;
+            out[i] = dx * dx + dy * dy;
+        }
+    }
+}
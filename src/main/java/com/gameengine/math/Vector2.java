@@ -69,7 +69,86 @@ public class Vector2 {
      * 计算距离
      */
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return (float) Math.sqrt(distanceSq(other.x, other.y));
+    }
+    
+    /**
+     * 计算距离的平方（不开方，适合比较远近）
+     */
+    public float distanceSq(Vector2 other) {
+        return distanceSq(other.x, other.y);
+    }
+    
+    public float distanceSq(float ox, float oy) {
+        float dx = x - ox;
+        float dy = y - oy;
+        return dx * dx + dy * dy;
+    }
+    
+    /**
+     * 向量长度的平方
+     */
+    public float magnitudeSq() {
+        return x * x + y * y;
+    }
+    
+    // ---- 原地运算：修改自身并返回 this，不分配新对象 ----
+    
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        return set(other.x, other.y);
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        return addLocal(other.x, other.y);
+    }
+    
+    public Vector2 addLocal(float dx, float dy) {
+        x += dx;
+        y += dy;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        return subtractLocal(other.x, other.y);
+    }
+    
+    public Vector2 subtractLocal(float dx, float dy) {
+        x -= dx;
+        y -= dy;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        x *= scalar;
+        y *= scalar;
+        return this;
+    }
+    
+    /**
+     * this += other * scalar
+     */
+    public Vector2 scaleAddLocal(Vector2 other, float scalar) {
+        x += other.x * scalar;
+        y += other.y * scalar;
+        return this;
+    }
+    
+    /**
+     * 原地标准化，零向量保持为零
+     */
+    public Vector2 normalizeLocal() {
+        float magSq = x * x + y * y;
+        if (magSq == 0) return this;
+        float inv = (float) (1.0 / Math.sqrt(magSq));
+        x *= inv;
+        y *= inv;
+        return this;
     }
     
     @Override
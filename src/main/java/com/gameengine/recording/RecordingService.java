@@ -2,7 +2,9 @@ package com.gameengine.recording;
 
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Archetype;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.Tag;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
 import com.gameengine.scene.Scene;
@@ -14,7 +16,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.stream.Collectors;
 
 public class RecordingService {
     private class EntityInfo {
@@ -151,48 +152,77 @@ public class RecordingService {
         }
     }
 
+    // 使用场景的标签成员视图，失活对象在写入时跳过
     private List<GameObject> getPlayers(Scene scene) {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("Player"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.getGameObjectsWithTag(Tag.PLAYER);
     }
     
     private List<GameObject> getEnemies(Scene scene) {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("Enemy"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        return scene.getGameObjectsWithTag(Tag.ENEMY);
     }
     
     private List<GameObject> getFireballs(Scene scene) {
-        return scene.getGameObjects().stream()
-        .filter(obj -> obj.getName().equals("Fireball"))
-        .filter(obj -> obj.isActive())
-        .collect(Collectors.toList());
+        return scene.getGameObjectsWithTag(Tag.FIREBALL);
+    }
+    
+    /**
+     * 把对象状态写入环形缓冲中的 EntityInfo
+     * 对象位于原型存储中时直接读取位置/缩放列，否则经由 TransformComponent
+     */
+    private void captureEntity(GameObject obj, List<EntityInfo> infoList, int bufferSize) {
+        RenderComponent render = obj.getComponent(RenderComponent.class);
+        if (render == null) return;
+        float x, y, w, h;
+        Archetype archetype = obj.getArchetype();
+        if (archetype != null && archetype.has(Archetype.TRANSFORM)) {
+            int i = 2 * obj.getArchetypeRow();
+            float[] pos = archetype.getPositions();
+            float[] scale = archetype.getScales();
+            x = pos[i];
+            y = pos[i + 1];
+            w = scale[i];
+            h = scale[i + 1];
+        } else {
+            TransformComponent transform = obj.getComponent(TransformComponent.class);
+            if (transform == null) return;
+            Vector2 p = transform.getPosition();
+            Vector2 sc = transform.getScale();
+            x = p.x;
+            y = p.y;
+            w = sc.x;
+            h = sc.y;
+        }
+        int id = obj.getId();
+        EntityInfo ei = infoList.get(id % bufferSize);
+        ei.id = id;
+        ei.status = 1;
+        ei.x = x;
+        ei.y = y;
+        ei.w = w;
+        ei.h = h;
+        ei.image = render.getImageKey();
+        ei.angle = render.getRotation();
     }
     
     private boolean writeKeyframe(Scene scene) {
+        String line = buildKeyframe(scene);
+        if (line == null) return false;
+        enqueue(line);
+        return true;
+    }
+
+    /**
+     * 采集场景中的实体并序列化为一行关键帧 JSON，没有任何有效实体时返回 null
+     */
+    public String buildKeyframe(Scene scene) {
         int count = 0;
         boolean first = true;
         StringBuilder sb = new StringBuilder();
         // 写player信息
         List<GameObject> players = getPlayers(scene);
         for (GameObject player : players){
-            if (player == null) continue;
-            int id = player.getId();
-            TransformComponent transform = player.getComponent(TransformComponent.class);
-            RenderComponent render = player.getComponent(com.gameengine.components.RenderComponent.class);
-            if (transform == null || render == null) continue;
-            EntityInfo ei = playerInfoList.get(id % playerBufferSize);
-            ei.id = id;
-            ei.status = 1;
-            ei.x = transform.getPosition().x;
-            ei.y = transform.getPosition().y;
-            ei.w = transform.getScale().x;
-            ei.h = transform.getScale().y;
-            ei.image = render.getImageKey();
-            ei.angle = render.getRotation();
+            if (player == null || !player.isActive()) continue;
+            captureEntity(player, playerInfoList, playerBufferSize);
         }
         sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed)).append(",\"players\":[");
         for (int i = 0; i < playerBufferSize; ++i){
@@ -214,20 +244,8 @@ public class RecordingService {
         // 写enemy信息
         List<GameObject> enemies = getEnemies(scene);
         for (GameObject enemy : enemies){
-            if (enemy == null) continue;
-            int id = enemy.getId();
-            TransformComponent transform = enemy.getComponent(TransformComponent.class);
-            RenderComponent render = enemy.getComponent(com.gameengine.components.RenderComponent.class);
-            if (transform == null || render == null) continue;
-            EntityInfo ei = enemyInfoList.get(id % enemyBufferSize);
-            ei.id = id;
-            ei.status = 1;
-            ei.x = transform.getPosition().x;
-            ei.y = transform.getPosition().y;
-            ei.w = transform.getScale().x;
-            ei.h = transform.getScale().y;
-            ei.image = render.getImageKey();
-            ei.angle = render.getRotation();
+            if (enemy == null || !enemy.isActive()) continue;
+            captureEntity(enemy, enemyInfoList, enemyBufferSize);
         }
         sb.append("],\"enemies\":[");
         first = true;
@@ -251,20 +269,8 @@ public class RecordingService {
         // 写fireball信息
         List<GameObject> fireballs = getFireballs(scene);
         for (GameObject fireball : fireballs){
-            if (fireball == null) continue;
-            int id = fireball.getId();
-            TransformComponent transform = fireball.getComponent(TransformComponent.class);
-            RenderComponent render = fireball.getComponent(com.gameengine.components.RenderComponent.class);
-            if (transform == null || render == null) continue;
-            EntityInfo ei = fireballInfoList.get(id % fireballBufferSize);
-            ei.id = id;
-            ei.status = 1;
-            ei.x = transform.getPosition().x;
-            ei.y = transform.getPosition().y;
-            ei.w = transform.getScale().x;
-            ei.h = transform.getScale().y;
-            ei.image = render.getImageKey();
-            ei.angle = render.getRotation();
+            if (fireball == null || !fireball.isActive()) continue;
+            captureEntity(fireball, fireballInfoList, fireballBufferSize);
         }
         sb.append("],\"fireballs\":[");
         first = true;
@@ -286,9 +292,8 @@ public class RecordingService {
                 count++;
         }
         sb.append("]}");
-        if (count == 0) return false;
-        enqueue(sb.toString());
-        return true;
+        if (count == 0) return null;
+        return sb.toString();
     }
 
     private void enqueue(String line) {
@@ -0,0 +1,50 @@
+package com.gameengine.recording;
+
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.FrameProfiler;
+import com.gameengine.core.GameSystem;
+import com.gameengine.input.InputManager;
+import com.gameengine.scene.Scene;
+
+import java.util.Set;
+
+/**
+ * 录制系统：把 RecordingService 接入系统调度器
+ * 只读取位置与渲染信息，可与碰撞检测等只读系统并行执行
+ */
+public class RecordingSystem implements GameSystem {
+    private static final Set<Class<?>> READS = Set.of(TransformComponent.class, RenderComponent.class);
+
+    private final RecordingService service;
+    private final Scene scene;
+    private final InputManager input;
+
+    public RecordingSystem(RecordingService service, Scene scene, InputManager input) {
+        this.service = service;
+        this.scene = scene;
+        this.input = input;
+    }
+
+    @Override
+    public Set<Class<?>> reads() {
+        return READS;
+    }
+
+    @Override
+    public Set<Class<?>> writes() {
+        return Set.of();
+    }
+
+    @Override
+    public FrameProfiler.Phase getProfilerPhase() {
+        return FrameProfiler.Phase.RECORDING;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (service.isRecording()) {
+            service.update(deltaTime, scene, input);
+        }
+    }
+}
@@ -1,29 +1,133 @@
 package com.gameengine.scene;
 
+import com.gameengine.collision.Broadphase;
+import com.gameengine.collision.SpatialHashGrid;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.Archetype;
+import com.gameengine.core.ArchetypeStorage;
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.ComponentRegistry;
+import com.gameengine.core.EntityAllocator;
+import com.gameengine.core.SystemScheduler;
+import com.gameengine.core.Tag;
 // 移除具体游戏逻辑的import
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Predicate;
 
 /**
  * 场景类，管理游戏对象和组件
  */
 public class Scene {
+    private static final Predicate<GameObject> PENDING_OBJECT = GameObject::isPendingRemoval;
+    private static final Predicate<Component<?>> PENDING_COMPONENT = c -> c.getOwner().isPendingRemoval();
+
     private String name;
     private List<GameObject> gameObjects;
-    private List<GameObject> objectsToAdd;
-    private List<GameObject> objectsToRemove;
+    private final List<GameObject> gameObjectsView;
     private boolean initialized;
-    // 移除未使用的组件索引
+    // 结构变更命令缓冲，在 update 开头的同步点合并：下标 0 由非工作线程共用，
+    // 其余按 ForkJoin 工作线程的池内下标 + 1 分配；工作线程重建时复用下标，缓冲数量不会增长
+    private volatile CommandBuffer[] commandBuffers;
+    private final Object commandBufferLock;
+    private final List<GameObject> pendingAdds;
+    private final List<GameObject> pendingRemoves;
+    // 本帧已标记待移除的对象，在 update 末尾一次性压缩移除
+    private final List<GameObject> removedObjects;
+    // 组件类型索引：按 ComponentRegistry 类型 id（含父类）索引场景内的组件，随对象与组件的增删增量维护
+    // 与 GameObject.getComponent 一致，每个对象每种类型只登记一个组件；componentOwners 与之按位置对应
+    private final List<List<Component<?>>> componentIndex;
+    private final List<List<Component<?>>> componentViews;
+    private final List<List<GameObject>> componentOwners;
+    private final List<List<GameObject>> componentOwnerViews;
+    // 标签成员索引：按 Tag 下标索引场景内带该标签的对象
+    private final List<List<GameObject>> tagIndex;
+    private final List<List<GameObject>> tagViews;
+    // 句柄槽位表：按句柄下标索引，O(1) 解析句柄（可能被工作线程写入，读写都在 handleLock 内）
+    private final EntityAllocator entityAllocator;
+    private final Object handleLock;
+    private GameObject[] handleSlots;
+    // 原型存储（可选），启用后 Transform/Physics/Collider 状态存放在连续列中
+    private ArchetypeStorage archetypeStorage;
+    // 碰撞宽相，按场景选择（实体分布不同的场景适合不同的宽相）；null 表示逐对比较
+    private Broadphase broadphase;
+    // 渲染插值系数：上一模拟步到当前步之间的比例（可变步长时恒为 1）
+    private float renderAlpha;
     
     public Scene(String name) {
         this.name = name;
         this.gameObjects = new ArrayList<>();
-        this.objectsToAdd = new ArrayList<>();
-        this.objectsToRemove = new ArrayList<>();
+        this.gameObjectsView = Collections.unmodifiableList(gameObjects);
         this.initialized = false;
-        // 移除组件索引初始化
+        this.commandBuffers = new CommandBuffer[] {new CommandBuffer()};
+        this.commandBufferLock = new Object();
+        this.pendingAdds = new ArrayList<>();
+        this.pendingRemoves = new ArrayList<>();
+        this.removedObjects = new ArrayList<>();
+        this.componentIndex = new ArrayList<>();
+        this.componentViews = new ArrayList<>();
+        this.componentOwners = new ArrayList<>();
+        this.componentOwnerViews = new ArrayList<>();
+        this.tagIndex = new ArrayList<>();
+        this.tagViews = new ArrayList<>();
+        this.entityAllocator = EntityAllocator.getInstance();
+        this.handleLock = new Object();
+        this.handleSlots = new GameObject[256];
+        this.renderAlpha = 1.0f;
+        this.broadphase = new SpatialHashGrid();
+    }
+
+    /**
+     * 当前线程的命令缓冲，工作线程下标超出时扩容
+     */
+    private CommandBuffer commandBuffer() {
+        Thread thread = Thread.currentThread();
+        int slot = thread instanceof ForkJoinWorkerThread ? ((ForkJoinWorkerThread) thread).getPoolIndex() + 1 : 0;
+        CommandBuffer[] buffers = commandBuffers;
+        if (slot < buffers.length) {
+            return buffers[slot];
+        }
+        synchronized (commandBufferLock) {
+            buffers = commandBuffers;
+            if (slot >= buffers.length) {
+                int oldLength = buffers.length;
+                buffers = Arrays.copyOf(buffers, slot + 1);
+                for (int i = oldLength; i < buffers.length; i++) {
+                    buffers[i] = new CommandBuffer();
+                }
+                commandBuffers = buffers;
+            }
+            return buffers[slot];
+        }
+    }
+
+    /**
+     * 结构变更命令缓冲，可能由多个线程写入（不同线程池的同下标工作线程、非工作线程），同步点由主线程取出
+     */
+    private static final class CommandBuffer {
+        private final List<GameObject> adds = new ArrayList<>();
+        private final List<GameObject> removes = new ArrayList<>();
+
+        synchronized void add(GameObject obj) {
+            adds.add(obj);
+        }
+
+        synchronized void remove(GameObject obj) {
+            removes.add(obj);
+        }
+
+        synchronized boolean drainAdds(List<GameObject> out) {
+            if (adds.isEmpty()) return false;
+            out.addAll(adds);
+            adds.clear();
+            return true;
+        }
+
+        synchronized void drainRemoves(List<GameObject> out) {
+            out.addAll(removes);
+            removes.clear();
+        }
     }
     
     /**
@@ -40,33 +144,265 @@ public class Scene {
      * 更新场景
      */
     public void update(float deltaTime) {
-        // 添加新对象
-        for (GameObject obj : objectsToAdd) {
-            gameObjects.add(obj);
-            if (initialized) {
-                obj.initialize();
+        // 同步点：合并各线程的新增/移除命令
+        flushCommands();
+        
+        // 更新所有活跃的游戏对象，失活对象标记移除
+        for (int i = 0, n = gameObjects.size(); i < n; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isPendingRemoval()) continue;
+            if (obj.isActive()) {
+                obj.update(deltaTime);
+            } else {
+                markForRemoval(obj);
             }
         }
-        objectsToAdd.clear();
         
-        // 移除标记的对象
-        for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+        compactRemovals();
+    }
+
+    /**
+     * 取出所有线程缓冲中的命令：先应用新增，再对移除去重并标记
+     */
+    private void flushCommands() {
+        // initialize 中可能继续添加对象，循环到缓冲清空为止
+        boolean drained = true;
+        while (drained) {
+            drained = false;
+            for (CommandBuffer buffer : commandBuffers) {
+                drained |= buffer.drainAdds(pendingAdds);
+            }
+            for (int i = 0; i < pendingAdds.size(); i++) {
+                insert(pendingAdds.get(i));
+            }
+            pendingAdds.clear();
         }
-        objectsToRemove.clear();
         
-        // 更新所有活跃的游戏对象
-        Iterator<GameObject> iterator = gameObjects.iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
-            if (obj.isActive()) {
-                obj.update(deltaTime);
+        for (CommandBuffer buffer : commandBuffers) {
+            buffer.drainRemoves(pendingRemoves);
+        }
+        for (int i = 0; i < pendingRemoves.size(); i++) {
+            markForRemoval(pendingRemoves.get(i));
+        }
+        pendingRemoves.clear();
+    }
+
+    private void insert(GameObject obj) {
+        // 等待加入期间已被清空或重复提交的对象不再加入
+        if (resolve(obj.getHandle()) != obj) return;
+        gameObjects.add(obj);
+        obj.setScene(this);
+        indexComponents(obj);
+        indexTags(obj);
+        if (archetypeStorage != null) {
+            archetypeStorage.attach(obj);
+        }
+        // 新对象没有上一步，避免从旧位置插值过来
+        TransformComponent transform = obj.getComponent(TransformComponent.class);
+        if (transform != null) {
+            transform.storePreviousPosition();
+        }
+        if (initialized) {
+            obj.initialize();
+        }
+    }
+
+    /**
+     * 标记对象待移除；不在本场景或已标记的对象忽略，因此多个线程重复移除同一对象是安全的
+     */
+    private void markForRemoval(GameObject obj) {
+        if (obj.isPendingRemoval() || resolve(obj.getHandle()) != obj) return;
+        obj.setPendingRemoval(true);
+        removedObjects.add(obj);
+    }
+
+    /**
+     * 一次线性压缩移除所有已标记对象，并清理索引、句柄与原型存储
+     */
+    private void compactRemovals() {
+        if (removedObjects.isEmpty()) return;
+        gameObjects.removeIf(PENDING_OBJECT);
+        for (List<Component<?>> list : componentIndex) {
+            list.removeIf(PENDING_COMPONENT);
+        }
+        for (List<GameObject> list : componentOwners) {
+            list.removeIf(PENDING_OBJECT);
+        }
+        for (List<GameObject> list : tagIndex) {
+            list.removeIf(PENDING_OBJECT);
+        }
+        for (int i = 0; i < removedObjects.size(); i++) {
+            GameObject obj = removedObjects.get(i);
+            releaseHandle(obj);
+            if (archetypeStorage != null) {
+                archetypeStorage.detach(obj);
+            }
+            obj.setPendingRemoval(false);
+            obj.setScene(null);
+            recycle(obj);
+        }
+        removedObjects.clear();
+    }
+
+    /**
+     * 池化对象移出场景后归还对象池
+     */
+    private void recycle(GameObject obj) {
+        if (obj.getPool() != null) {
+            obj.getPool().release(obj);
+        }
+    }
+
+    /**
+     * 将对象的组件登记到类型索引（按组件类及其父类分别登记，保持 isInstance 语义）
+     */
+    private void indexComponents(GameObject obj) {
+        for (Component<?> component : obj.getComponents()) {
+            indexComponent(obj, component);
+        }
+    }
+
+    /**
+     * 登记一个组件：只登记对象在该类型上实际返回的那个组件
+     */
+    private void indexComponent(GameObject obj, Component<?> component) {
+        for (int typeId : ComponentRegistry.hierarchyIdsOf(component.getClass())) {
+            if (obj.getComponentById(typeId) != component) continue;
+            while (componentIndex.size() <= typeId) {
+                List<Component<?>> list = new ArrayList<>();
+                componentIndex.add(list);
+                componentViews.add(Collections.unmodifiableList(list));
+                List<GameObject> owners = new ArrayList<>();
+                componentOwners.add(owners);
+                componentOwnerViews.add(Collections.unmodifiableList(owners));
+            }
+            componentIndex.get(typeId).add(component);
+            componentOwners.get(typeId).add(obj);
+        }
+    }
+
+    /**
+     * 场景内对象新增组件（由 GameObject.addComponent 调用）
+     */
+    public void onComponentAdded(GameObject obj, Component<?> component) {
+        if (obj.getScene() != this || obj.isPendingRemoval()) return;
+        indexComponent(obj, component);
+        reattach(obj, false);
+    }
+
+    /**
+     * 场景内对象移除组件（由 GameObject.removeComponent 调用，此时组件已从对象上摘除）
+     * 该类型若有接替的组件，在原位置替换，否则从索引中删除
+     */
+    public void onComponentRemoved(GameObject obj, Component<?> component) {
+        if (obj.getScene() != this || obj.isPendingRemoval()) return;
+        for (int typeId : ComponentRegistry.hierarchyIdsOf(component.getClass())) {
+            if (typeId >= componentIndex.size()) continue;
+            List<Component<?>> list = componentIndex.get(typeId);
+            int index = list.indexOf(component);
+            if (index < 0) continue;
+            Component<?> replacement = obj.getComponentById(typeId);
+            if (replacement != null) {
+                list.set(index, replacement);
             } else {
-                iterator.remove();
+                list.remove(index);
+                componentOwners.get(typeId).remove(index);
+            }
+        }
+        reattach(obj, component.isStorageBound());
+    }
+
+    /**
+     * 组件组合变化后把对象移到对应原型（绑定的组件被移除时即使组合不变也要重新绑定）
+     */
+    private void reattach(GameObject obj, boolean force) {
+        if (archetypeStorage == null) return;
+        Archetype archetype = obj.getArchetype();
+        int current = archetype != null ? archetype.getSignature() : 0;
+        if (!force && Archetype.signatureOf(obj) == current) return;
+        archetypeStorage.detach(obj);
+        archetypeStorage.attach(obj);
+    }
+
+    /**
+     * 将对象登记到其标签的成员列表
+     */
+    private void indexTags(GameObject obj) {
+        indexTags(obj, obj.getTagMask());
+    }
+
+    private void indexTags(GameObject obj, long mask) {
+        while (mask != 0) {
+            int index = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            while (tagIndex.size() <= index) {
+                List<GameObject> list = new ArrayList<>();
+                tagIndex.add(list);
+                tagViews.add(Collections.unmodifiableList(list));
+            }
+            tagIndex.get(index).add(obj);
+        }
+    }
+
+    /**
+     * 场景内对象标签变化（由 GameObject 的 addTag/removeTag/setName 调用），只调整变化的位
+     */
+    public void onTagsChanged(GameObject obj, long oldMask) {
+        if (obj.getScene() != this || obj.isPendingRemoval()) return;
+        long newMask = obj.getTagMask();
+        long removed = oldMask & ~newMask;
+        while (removed != 0) {
+            int index = Long.numberOfTrailingZeros(removed);
+            removed &= removed - 1;
+            if (index < tagIndex.size()) {
+                tagIndex.get(index).remove(obj);
+            }
+        }
+        indexTags(obj, newMask & ~oldMask);
+    }
+
+    /**
+     * 记录所有变换的当前位置为上一步位置（固定步长模式下每个模拟步开始时调用）
+     */
+    public void snapshotTransforms() {
+        if (archetypeStorage != null) {
+            for (Archetype archetype : archetypeStorage.getArchetypes()) {
+                archetype.snapshotPositions();
+            }
+        }
+        List<TransformComponent> transforms = getComponents(TransformComponent.class);
+        for (int i = 0; i < transforms.size(); i++) {
+            TransformComponent transform = transforms.get(i);
+            if (!transform.isStorageBound()) {
+                transform.storePreviousPosition();
             }
         }
     }
     
+    public float getRenderAlpha() {
+        return renderAlpha;
+    }
+    
+    /**
+     * 设置渲染插值系数（由引擎在渲染前设置）
+     */
+    public void setRenderAlpha(float renderAlpha) {
+        this.renderAlpha = renderAlpha;
+    }
+    
+    /**
+     * 场景是否空闲：空闲时画面只随输入变化，引擎改为阻塞等待事件而不是按帧率刷新
+     */
+    public boolean isIdle() {
+        return false;
+    }
+    
+    /**
+     * 向调度器注册本场景的系统（场景初始化后由引擎调用），默认没有
+     */
+    public void registerSystems(SystemScheduler scheduler) {
+    }
+    
     /**
      * 渲染场景
      */
@@ -79,45 +415,168 @@ public class Scene {
     }
     
     /**
-     * 添加游戏对象到场景
+     * 添加游戏对象到场景（可在任意线程调用）
+     * 句柄立即分配，对象在下一次 update 的同步点加入更新列表
      */
     public void addGameObject(GameObject gameObject) {
-        objectsToAdd.add(gameObject);
+        synchronized (handleLock) {
+            if (resolveLocked(gameObject.getHandle()) == gameObject) return;
+            int handle = entityAllocator.allocate();
+            int index = EntityAllocator.indexOf(handle);
+            if (index >= handleSlots.length) {
+                handleSlots = Arrays.copyOf(handleSlots, Math.max(index + 1, handleSlots.length * 2));
+            }
+            handleSlots[index] = gameObject;
+            gameObject.setHandle(handle);
+        }
+        commandBuffer().add(gameObject);
     }
 
     /**
-     * 从场景中移除游戏对象
+     * 根据句柄查找对象，句柄失效或对象不在本场景时返回 null
+     */
+    public GameObject resolve(int handle) {
+        synchronized (handleLock) {
+            return resolveLocked(handle);
+        }
+    }
+
+    private GameObject resolveLocked(int handle) {
+        if (handle == EntityAllocator.NONE) return null;
+        int index = EntityAllocator.indexOf(handle);
+        if (index >= handleSlots.length) return null;
+        GameObject obj = handleSlots[index];
+        return (obj != null && obj.getHandle() == handle) ? obj : null;
+    }
+
+    private void releaseHandle(GameObject obj) {
+        synchronized (handleLock) {
+            int handle = obj.getHandle();
+            if (resolveLocked(handle) != obj) return;
+            handleSlots[EntityAllocator.indexOf(handle)] = null;
+            entityAllocator.release(handle);
+            obj.setHandle(EntityAllocator.NONE);
+        }
+    }
+
+    /**
+     * 从场景中移除游戏对象（可在任意线程调用，重复移除会在同步点去重）
      */
     public void removeGameObject(GameObject gameObject) {
-        objectsToRemove.add(gameObject);
+        commandBuffer().remove(gameObject);
     }
     
     /**
      * 根据组件类型查找游戏对象
+     * 返回索引的只读视图（不复制），与 getComponents 按位置一一对应
      */
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        int typeId = ComponentRegistry.idOf(componentType);
+        if (typeId >= componentOwnerViews.size()) {
+            return Collections.emptyList();
+        }
+        return componentOwnerViews.get(typeId);
     }
     
     /**
-     * 获取所有具有指定组件的游戏对象
+     * 获取场景中指定类型的所有组件（每个对象一个，同 GameObject.getComponent）
+     * 返回索引的只读视图（不复制），视图内容在下一次 update 增删对象、或对象增删组件时变化
      */
+    @SuppressWarnings("unchecked")
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        int typeId = ComponentRegistry.idOf(componentType);
+        if (typeId >= componentViews.size()) {
+            return Collections.emptyList();
+        }
+        return (List<T>) (List<?>) componentViews.get(typeId);
+    }
+    
+    /**
+     * 获取场景中带指定标签的所有对象
+     * 返回成员列表的只读视图（不复制），已失活但尚未移除的对象需由调用方跳过
+     */
+    public List<GameObject> getGameObjectsWithTag(Tag tag) {
+        int index = tag.getIndex();
+        if (index >= tagViews.size()) {
+            return Collections.emptyList();
+        }
+        return tagViews.get(index);
     }
     
     /**
-     * 清空场景
+     * 清空场景（包括各线程缓冲中尚未生效的命令）
      */
     public void clear() {
+        for (CommandBuffer buffer : commandBuffers) {
+            buffer.drainAdds(pendingAdds);
+            buffer.drainRemoves(pendingRemoves);
+        }
+        // 先解除原型绑定（写回组件），再把池化对象归还对象池
+        if (archetypeStorage != null) {
+            archetypeStorage.clear();
+        }
+        for (GameObject obj : gameObjects) {
+            releaseHandle(obj);
+            obj.setPendingRemoval(false);
+            obj.setScene(null);
+            recycle(obj);
+        }
+        for (GameObject obj : pendingAdds) {
+            releaseHandle(obj);
+            recycle(obj);
+        }
         gameObjects.clear();
-        objectsToAdd.clear();
-        objectsToRemove.clear();
+        pendingAdds.clear();
+        pendingRemoves.clear();
+        removedObjects.clear();
+        for (List<Component<?>> list : componentIndex) {
+            list.clear();
+        }
+        for (List<GameObject> list : componentOwners) {
+            list.clear();
+        }
+        for (List<GameObject> list : tagIndex) {
+            list.clear();
+        }
+        if (broadphase != null) {
+            broadphase.clear();
+        }
+    }
+
+    /**
+     * 启用/关闭原型存储，需在添加对象之前设置
+     */
+    public void setArchetypeStorageEnabled(boolean enabled) {
+        if (enabled && archetypeStorage == null) {
+            archetypeStorage = new ArchetypeStorage();
+        } else if (!enabled && archetypeStorage != null) {
+            archetypeStorage.clear();
+            archetypeStorage = null;
+        }
+    }
+
+    /**
+     * 获取原型存储，未启用时返回 null
+     */
+    public ArchetypeStorage getArchetypeStorage() {
+        return archetypeStorage;
+    }
+    
+    /**
+     * 获取碰撞宽相，默认为均匀网格；null 表示逐对比较
+     */
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * 替换碰撞宽相，旧宽相中的代理被清空
+     */
+    public void setBroadphase(Broadphase broadphase) {
+        if (this.broadphase != null && this.broadphase != broadphase) {
+            this.broadphase.clear();
+        }
+        this.broadphase = broadphase;
     }
     
     /**
@@ -129,9 +588,10 @@ public class Scene {
     
     /**
      * 获取所有游戏对象
+     * 返回只读视图（不复制），内容只在 update/clear 时变化；需要跨帧保留时由调用方自行复制
      */
     public List<GameObject> getGameObjects() {
-        return new ArrayList<>(gameObjects);
+        return gameObjectsView;
     }
     
     // 移除具体游戏逻辑，让子类实现
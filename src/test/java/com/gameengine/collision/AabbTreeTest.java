@@ -0,0 +1,203 @@
+package com.gameengine.collision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AabbTreeTest {
+
+    @Test
+    void matchesBruteForceOverManyFrames() {
+        BroadphaseFixture fixture = new BroadphaseFixture(800, 42, 2000).scatter(40, true);
+        fixture.set(0, -100, -100, 1500, 300);
+        AabbTree tree = new AabbTree();
+        for (int frame = 0; frame < 30; frame++) {
+            fixture.assertMatches(tree);
+            assertEquals(2 * tree.getProxyCount() - 1, tree.getNodeCount());
+            fixture.step(15);
+        }
+    }
+
+    @Test
+    void sortedInsertionStaysBalanced() {
+        // 按坐标顺序插入是不做旋转时退化成链表的情形
+        int n = 1024;
+        BroadphaseFixture fixture = new BroadphaseFixture(n, 1, 0);
+        for (int id = 0; id < n; id++) {
+            fixture.set(id, id * 10, 0, 5, 5);
+        }
+        AabbTree tree = new AabbTree(0f);
+        fixture.assertMatches(tree);
+        assertEquals(2 * n - 1, tree.getNodeCount());
+        assertTrue(tree.getHeight() >= 10);
+        assertTrue(tree.getHeight() <= 20, () -> "树高 " + tree.getHeight());
+    }
+
+    @Test
+    void removeAndReinsertKeepTreeConsistent() {
+        BroadphaseFixture fixture = new BroadphaseFixture(200, 3, 500).scatter(30, false);
+        AabbTree tree = new AabbTree();
+        fixture.assertMatches(tree);
+
+        for (int id = 0; id < 200; id += 2) {
+            fixture.live[id] = false;
+        }
+        fixture.assertMatches(tree);
+        assertEquals(100, tree.getProxyCount());
+        assertEquals(199, tree.getNodeCount());
+
+        // 重新加入的代理复用同一 id
+        for (int id = 0; id < 200; id += 4) {
+            fixture.live[id] = true;
+        }
+        fixture.assertMatches(tree);
+        assertEquals(2 * 150 - 1, tree.getNodeCount());
+
+        for (int id = 0; id < 200; id++) {
+            fixture.live[id] = false;
+        }
+        fixture.assertMatches(tree);
+        assertEquals(0, tree.getNodeCount());
+        assertEquals(-1, tree.getHeight());
+
+        fixture.live[7] = true;
+        fixture.assertMatches(tree);
+        assertEquals(0, tree.getHeight());
+    }
+
+    @Test
+    void movesInsideFatBoundsDoNotReinsert() {
+        BroadphaseFixture fixture = new BroadphaseFixture(2, 1, 0);
+        fixture.set(0, 0, 0, 10, 10);
+        fixture.set(1, 100, 100, 10, 10);
+        AabbTree tree = new AabbTree(8f);
+        fixture.assertMatches(tree);
+        assertEquals(0, tree.getReinsertCount());
+
+        fixture.set(0, 5, -5, 10, 10);
+        fixture.assertMatches(tree);
+        assertEquals(0, tree.getReinsertCount());
+
+        fixture.set(0, 95, 95, 10, 10);
+        fixture.assertMatches(tree);
+        assertEquals(1, tree.getReinsertCount());
+        assertEquals(1, tree.getPairCount());
+    }
+
+    @Test
+    void aabbAndRadiusQueriesMatchBruteForce() {
+        BroadphaseFixture fixture = new BroadphaseFixture(500, 21, 1000).scatter(30, true);
+        AabbTree tree = new AabbTree();
+        fixture.feed(tree);
+
+        Set<Integer> found = new HashSet<>();
+        tree.queryAabb(200, 300, 450, 500, 2, id -> found.add(id));
+        Set<Integer> expected = new HashSet<>();
+        for (int id = 0; id < 500; id++) {
+            if ((fixture.category[id] & 2) != 0 && fixture.minX[id] <= 450 && 200 <= fixture.maxX[id]
+                && fixture.minY[id] <= 500 && 300 <= fixture.maxY[id]) {
+                expected.add(id);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+
+        found.clear();
+        expected.clear();
+        float x = 600, y = 400, r = 120;
+        tree.queryRadius(x, y, r, id -> found.add(id));
+        for (int id = 0; id < 500; id++) {
+            float dx = x - Math.max(fixture.minX[id], Math.min(x, fixture.maxX[id]));
+            float dy = y - Math.max(fixture.minY[id], Math.min(y, fixture.maxY[id]));
+            if (dx * dx + dy * dy <= r * r) {
+                expected.add(id);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+
+        int[] visits = {0};
+        tree.queryAabb(0, 0, 1000, 1000, id -> ++visits[0] < 3);
+        assertEquals(3, visits[0]);
+    }
+
+    @Test
+    void raycastReportsEntryFractionAndClipsToCallbackResult() {
+        BroadphaseFixture fixture = new BroadphaseFixture(4, 1, 0);
+        fixture.set(0, 10, -5, 10, 10);
+        fixture.set(1, 40, -5, 10, 10);
+        fixture.set(2, 70, -5, 10, 10);
+        fixture.set(3, 40, 50, 10, 10);
+        AabbTree tree = new AabbTree();
+        fixture.feed(tree);
+
+        // 返回 1：访问射线上的全部代理，比例为进入点
+        List<Integer> hits = new ArrayList<>();
+        float[] fractions = new float[4];
+        tree.raycast(0, 0, 100, 0, (id, fraction) -> {
+            hits.add(id);
+            fractions[id] = fraction;
+            return 1f;
+        });
+        assertEquals(Set.of(0, 1, 2), new HashSet<>(hits));
+        assertEquals(0.1f, fractions[0], 1e-6f);
+        assertEquals(0.4f, fractions[1], 1e-6f);
+        assertEquals(0.7f, fractions[2], 1e-6f);
+
+        // 返回 fraction：之后的命中只会更近，最终得到最近的代理
+        float[] closest = {2f};
+        int[] closestId = {-1};
+        tree.raycast(0, 0, 100, 0, (id, fraction) -> {
+            assertTrue(fraction < closest[0]);
+            closest[0] = fraction;
+            closestId[0] = id;
+            return fraction;
+        });
+        assertEquals(0, closestId[0]);
+        assertEquals(0.1f, closest[0], 1e-6f);
+
+        // 返回 0 立即结束
+        int[] count = {0};
+        tree.raycast(0, 0, 100, 0, (id, fraction) -> {
+            count[0]++;
+            return 0f;
+        });
+        assertEquals(1, count[0]);
+
+        // 返回负数忽略该代理，不缩短射线
+        hits.clear();
+        tree.raycast(0, 0, 100, 0, (id, fraction) -> {
+            hits.add(id);
+            return -1f;
+        });
+        assertEquals(3, hits.size());
+
+        // 线段在包围盒之前结束；起点在包围盒内时比例为 0
+        hits.clear();
+        tree.raycast(0, 0, 5, 0, (id, fraction) -> {
+            hits.add(id);
+            return 1f;
+        });
+        assertTrue(hits.isEmpty());
+        tree.raycast(15, 0, 15, 100, (id, fraction) -> {
+            hits.add(id);
+            fractions[id] = fraction;
+            return 1f;
+        });
+        assertEquals(List.of(0), hits);
+        assertEquals(0f, fractions[0]);
+    }
+
+    @Test
+    void segmentEntryHandlesAxisAlignedAndReversedRays() {
+        assertEquals(0.5f, AabbTree.segmentEntry(0, 5, 20, 0, 1f, 10, 0, 20, 10), 1e-6f);
+        assertEquals(0.5f, AabbTree.segmentEntry(30, 5, -20, 0, 1f, 0, 0, 20, 10), 1e-6f);
+        assertEquals(-1f, AabbTree.segmentEntry(0, 15, 20, 0, 1f, 10, 0, 20, 10));
+        assertEquals(-1f, AabbTree.segmentEntry(0, 5, 20, 0, 0.4f, 10, 0, 20, 10));
+    }
+}
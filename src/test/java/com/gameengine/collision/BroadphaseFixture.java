@@ -0,0 +1,138 @@
+package com.gameengine.collision;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 宽相测试夹具：一组随机移动、增删的包围盒，按逐对比较的结果校验宽相输出的候选对
+ */
+final class BroadphaseFixture {
+    final float[] minX, minY, maxX, maxY;
+    final int[] category, mask;
+    final boolean[] live;
+    private final Random random;
+    private final float worldSize;
+
+    BroadphaseFixture(int capacity, long seed, float worldSize) {
+        minX = new float[capacity];
+        minY = new float[capacity];
+        maxX = new float[capacity];
+        maxY = new float[capacity];
+        category = new int[capacity];
+        mask = new int[capacity];
+        live = new boolean[capacity];
+        random = new Random(seed);
+        this.worldSize = worldSize;
+    }
+
+    /**
+     * 随机放置全部代理；sizeMax 为最大边长，过滤位随机取自两个分类
+     */
+    BroadphaseFixture scatter(float sizeMax, boolean filtered) {
+        for (int id = 0; id < live.length; id++) {
+            float w = 1 + random.nextFloat() * sizeMax;
+            float h = 1 + random.nextFloat() * sizeMax;
+            set(id, random.nextFloat() * worldSize, random.nextFloat() * worldSize, w, h);
+            if (filtered) {
+                category[id] = 1 << random.nextInt(2);
+                mask[id] = random.nextInt(4) == 0 ? category[id] ^ 3 : -1;
+            }
+        }
+        return this;
+    }
+
+    void set(int id, float x, float y, float w, float h) {
+        minX[id] = x;
+        minY[id] = y;
+        maxX[id] = x + w;
+        maxY[id] = y + h;
+        if (category[id] == 0) {
+            category[id] = 1;
+            mask[id] = -1;
+        }
+        live[id] = true;
+    }
+
+    /**
+     * 模拟一帧：多数代理小幅移动，少数跳到远处，少量移除和重新加入
+     */
+    void step(float jitter) {
+        for (int id = 0; id < live.length; id++) {
+            int r = random.nextInt(100);
+            if (r < 2) {
+                live[id] = !live[id];
+                continue;
+            }
+            if (!live[id]) continue;
+            float dx, dy;
+            if (r < 5) {
+                dx = random.nextFloat() * worldSize - minX[id];
+                dy = random.nextFloat() * worldSize - minY[id];
+            } else {
+                dx = (random.nextFloat() * 2 - 1) * jitter;
+                dy = (random.nextFloat() * 2 - 1) * jitter;
+            }
+            minX[id] += dx;
+            maxX[id] += dx;
+            minY[id] += dy;
+            maxY[id] += dy;
+        }
+    }
+
+    void feed(Broadphase broadphase) {
+        broadphase.beginUpdate();
+        for (int id = 0; id < live.length; id++) {
+            if (live[id]) {
+                broadphase.update(id, minX[id], minY[id], maxX[id], maxY[id], category[id], mask[id]);
+            }
+        }
+        broadphase.endUpdate();
+    }
+
+    Set<Long> bruteForce() {
+        Set<Long> pairs = new HashSet<>();
+        for (int a = 0; a < live.length; a++) {
+            if (!live[a]) continue;
+            for (int b = a + 1; b < live.length; b++) {
+                if (!live[b]) continue;
+                if ((category[a] & mask[b]) == 0 || (category[b] & mask[a]) == 0) continue;
+                if (minX[a] <= maxX[b] && minX[b] <= maxX[a] && minY[a] <= maxY[b] && minY[b] <= maxY[a]) {
+                    pairs.add(key(a, b));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * 收集宽相输出的候选对，并检查每个无序对只报告一次、计数一致
+     */
+    static Set<Long> collect(Broadphase broadphase) {
+        Set<Long> pairs = new HashSet<>();
+        int[] count = {0};
+        broadphase.findPairs((a, b) -> {
+            assertNotEquals(a, b);
+            assertTrue(pairs.add(key(a, b)), () -> "重复报告 " + a + "-" + b);
+            count[0]++;
+        });
+        assertEquals(count[0], broadphase.getPairCount());
+        return pairs;
+    }
+
+    void assertMatches(Broadphase broadphase) {
+        feed(broadphase);
+        int liveCount = 0;
+        for (boolean l : live) {
+            if (l) liveCount++;
+        }
+        assertEquals(liveCount, broadphase.getProxyCount());
+        assertEquals(bruteForce(), collect(broadphase));
+    }
+
+    static long key(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
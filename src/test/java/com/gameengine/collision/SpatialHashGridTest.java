@@ -0,0 +1,94 @@
+package com.gameengine.collision;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialHashGridTest {
+
+    @Test
+    void largeBoxAmongScatteredPointsDoesNotHang() {
+        // 一个代理占满多个格子，哈希表须按格子条目数而非代理数定容
+        BroadphaseFixture fixture = new BroadphaseFixture(14, 1, 100);
+        fixture.set(0, 0, 0, 100, 100);
+        fixture.set(1, 50, 50, 0, 0);
+        for (int id = 2; id < 14; id++) {
+            fixture.set(id, 150 + id * 40, (id * 37) % 100, 0, 0);
+        }
+        SpatialHashGrid grid = new SpatialHashGrid();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> fixture.assertMatches(grid));
+        assertEquals(1, grid.getPairCount());
+    }
+
+    @Test
+    void fixedCellSizeWithLargeProxyDoesNotHang() {
+        BroadphaseFixture fixture = new BroadphaseFixture(2, 1, 100);
+        fixture.set(0, 0, 0, 60, 60);
+        fixture.set(1, 30, 30, 0, 0);
+        SpatialHashGrid grid = new SpatialHashGrid(10f);
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> fixture.assertMatches(grid));
+        assertEquals(1, grid.getPairCount());
+        assertEquals(49, grid.getCellCount());
+    }
+
+    @Test
+    void oversizedProxiesAreComparedDirectly() {
+        BroadphaseFixture fixture = new BroadphaseFixture(5, 1, 1000);
+        fixture.set(0, 0, 0, 1000, 1000);
+        fixture.set(1, 500, 0, 500, 1000);
+        fixture.set(2, 10, 10, 2, 2);
+        fixture.set(3, 600, 600, 2, 2);
+        fixture.set(4, 2000, 2000, 2, 2);
+        fixture.assertMatches(new SpatialHashGrid(10f));
+    }
+
+    @Test
+    void pairAcrossSeveralCellsIsReportedOnce() {
+        BroadphaseFixture fixture = new BroadphaseFixture(2, 1, 100);
+        fixture.set(0, 5, 5, 30, 30);
+        fixture.set(1, 8, 8, 30, 30);
+        SpatialHashGrid grid = new SpatialHashGrid(10f);
+        fixture.assertMatches(grid);
+        assertEquals(Set.of(BroadphaseFixture.key(0, 1)), BroadphaseFixture.collect(grid));
+    }
+
+    @Test
+    void matchesBruteForceOverManyFrames() {
+        BroadphaseFixture fixture = new BroadphaseFixture(800, 42, 2000).scatter(40, true);
+        // 少量超大代理混在小代理中
+        fixture.set(0, -100, -100, 1500, 300);
+        fixture.set(1, 900, 0, 200, 2000);
+        SpatialHashGrid grid = new SpatialHashGrid();
+        for (int frame = 0; frame < 30; frame++) {
+            fixture.assertMatches(grid);
+            fixture.step(15);
+        }
+    }
+
+    @Test
+    void matchesBruteForceWithFixedCellsAndNegativeCoordinates() {
+        BroadphaseFixture fixture = new BroadphaseFixture(400, 7, 600).scatter(80, false);
+        for (int id = 0; id < 400; id += 3) {
+            fixture.set(id, fixture.minX[id] - 600, fixture.minY[id] - 600, 5, 5);
+        }
+        SpatialHashGrid grid = new SpatialHashGrid(16f);
+        for (int frame = 0; frame < 20; frame++) {
+            fixture.assertMatches(grid);
+            fixture.step(20);
+        }
+    }
+
+    @Test
+    void clearRemovesAllProxies() {
+        BroadphaseFixture fixture = new BroadphaseFixture(50, 3, 200).scatter(20, false);
+        SpatialHashGrid grid = new SpatialHashGrid();
+        fixture.feed(grid);
+        grid.clear();
+        assertEquals(0, grid.getProxyCount());
+        assertTrue(BroadphaseFixture.collect(grid).isEmpty());
+        fixture.assertMatches(grid);
+    }
+}
@@ -0,0 +1,79 @@
+package com.gameengine.collision;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SweepAndPruneTest {
+
+    @Test
+    void matchesBruteForceOverManyFrames() {
+        BroadphaseFixture fixture = new BroadphaseFixture(800, 42, 2000).scatter(40, true);
+        fixture.set(0, -100, -100, 1500, 300);
+        SweepAndPrune sap = new SweepAndPrune();
+        for (int frame = 0; frame < 30; frame++) {
+            fixture.assertMatches(sap);
+            fixture.step(15);
+        }
+    }
+
+    @Test
+    void clusteredProxiesMatchBruteForce() {
+        // 全部挤在一条竖带里：x 轴区间几乎全部重叠
+        BroadphaseFixture fixture = new BroadphaseFixture(300, 9, 2000).scatter(10, false);
+        for (int id = 0; id < 300; id++) {
+            fixture.set(id, 500 + (id % 7), fixture.minY[id], 8, 8);
+        }
+        SweepAndPrune sap = new SweepAndPrune();
+        for (int frame = 0; frame < 10; frame++) {
+            fixture.assertMatches(sap);
+            fixture.step(3);
+        }
+    }
+
+    @Test
+    void switchesToAxisWithLargerSpread() {
+        BroadphaseFixture fixture = new BroadphaseFixture(100, 5, 1000);
+        for (int id = 0; id < 100; id++) {
+            fixture.set(id, id % 3, id * 10, 2, 2);
+        }
+        SweepAndPrune sap = new SweepAndPrune();
+        assertEquals(0, sap.getAxis());
+        fixture.assertMatches(sap);
+        assertEquals(1, sap.getAxis());
+
+        // 差距不到切换阈值时保持当前主轴
+        for (int id = 0; id < 100; id++) {
+            fixture.set(id, (id * 37) % 100 * 10, id * 10, 2, 2);
+        }
+        fixture.assertMatches(sap);
+        assertEquals(1, sap.getAxis());
+    }
+
+    @Test
+    void stationaryProxiesNeedNoSwaps() {
+        BroadphaseFixture fixture = new BroadphaseFixture(200, 11, 1000).scatter(20, false);
+        SweepAndPrune sap = new SweepAndPrune();
+        fixture.assertMatches(sap);
+        fixture.assertMatches(sap);
+        assertEquals(0, sap.getLastSwaps());
+    }
+
+    @Test
+    void removedProxiesLeaveTheSweep() {
+        BroadphaseFixture fixture = new BroadphaseFixture(60, 13, 200).scatter(30, false);
+        SweepAndPrune sap = new SweepAndPrune();
+        fixture.assertMatches(sap);
+        for (int id = 0; id < 60; id += 2) {
+            fixture.live[id] = false;
+        }
+        fixture.assertMatches(sap);
+        for (int id = 0; id < 60; id += 4) {
+            fixture.live[id] = true;
+        }
+        fixture.assertMatches(sap);
+        sap.clear();
+        assertEquals(0, sap.getProxyCount());
+        fixture.assertMatches(sap);
+    }
+}
@@ -0,0 +1,74 @@
+package com.gameengine.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityAllocatorTest {
+    private final EntityAllocator allocator = EntityAllocator.getInstance();
+
+    @Test
+    void packRoundTrip() {
+        int handle = EntityAllocator.pack(12345, 7);
+        assertEquals(12345, EntityAllocator.indexOf(handle));
+        assertEquals(7, EntityAllocator.generationOf(handle));
+        int max = EntityAllocator.pack(EntityAllocator.INDEX_MASK, EntityAllocator.MAX_GENERATION);
+        assertTrue(max > 0);
+        assertEquals(EntityAllocator.INDEX_MASK, EntityAllocator.indexOf(max));
+        assertEquals(EntityAllocator.MAX_GENERATION, EntityAllocator.generationOf(max));
+    }
+
+    @Test
+    void releaseInvalidatesHandleAndReusesSlot() {
+        int alive = allocator.getAliveCount();
+        int handle = allocator.allocate();
+        assertTrue(allocator.isAlive(handle));
+        assertEquals(alive + 1, allocator.getAliveCount());
+
+        allocator.release(handle);
+        assertFalse(allocator.isAlive(handle));
+        assertEquals(alive, allocator.getAliveCount());
+        // 重复释放无操作
+        allocator.release(handle);
+        assertEquals(alive, allocator.getAliveCount());
+
+        int reused = allocator.allocate();
+        assertEquals(EntityAllocator.indexOf(handle), EntityAllocator.indexOf(reused));
+        assertEquals(EntityAllocator.generationOf(handle) + 1, EntityAllocator.generationOf(reused));
+        assertFalse(allocator.isAlive(handle));
+        allocator.release(reused);
+    }
+
+    @Test
+    void generationWrapsToOneAndNeverProducesNone() {
+        int handle = allocator.allocate();
+        int index = EntityAllocator.indexOf(handle);
+        int first = handle;
+        boolean wrapped = false;
+        for (int i = 0; i < EntityAllocator.MAX_GENERATION; i++) {
+            allocator.release(handle);
+            int next = allocator.allocate();
+            assertEquals(index, EntityAllocator.indexOf(next));
+            assertNotEquals(EntityAllocator.NONE, next);
+            assertTrue(next > 0);
+            assertFalse(allocator.isAlive(handle));
+            int generation = EntityAllocator.generationOf(next);
+            assertTrue(generation >= 1 && generation <= EntityAllocator.MAX_GENERATION);
+            if (EntityAllocator.generationOf(handle) == EntityAllocator.MAX_GENERATION) {
+                assertEquals(1, generation);
+                wrapped = true;
+            }
+            handle = next;
+        }
+        assertTrue(wrapped);
+        // 绕回一整圈后代数与最初相同，旧句柄会被视为有效（代数位数有限的已知代价）
+        assertEquals(first, handle);
+        allocator.release(handle);
+    }
+
+    @Test
+    void noneIsNeverAlive() {
+        assertFalse(allocator.isAlive(EntityAllocator.NONE));
+        allocator.release(EntityAllocator.NONE);
+    }
+}
@@ -0,0 +1,224 @@
+package com.gameengine.core;
+
+import com.gameengine.collision.Broadphase;
+import com.gameengine.collision.CollisionLayer;
+import com.gameengine.collision.SpatialHashGrid;
+import com.gameengine.collision.SweepAndPrune;
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLogicTest {
+    private final WorkerPool workerPool = new WorkerPool(1);
+
+    @AfterEach
+    void shutdown() {
+        workerPool.shutdown();
+    }
+
+    /**
+     * 按需把宽相报告的对调换顺序，覆盖两种顺序
+     */
+    private static final class SwappedPairs implements Broadphase {
+        private final Broadphase delegate;
+
+        SwappedPairs(Broadphase delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void beginUpdate() {
+            delegate.beginUpdate();
+        }
+
+        @Override
+        public void update(int id, float minX, float minY, float maxX, float maxY, int category, int mask) {
+            delegate.update(id, minX, minY, maxX, maxY, category, mask);
+        }
+
+        @Override
+        public void endUpdate() {
+            delegate.endUpdate();
+        }
+
+        @Override
+        public void findPairs(PairCallback callback) {
+            delegate.findPairs((a, b) -> callback.pair(b, a));
+        }
+
+        @Override
+        public int getProxyCount() {
+            return delegate.getProxyCount();
+        }
+
+        @Override
+        public int getPairCount() {
+            return delegate.getPairCount();
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+    }
+
+    private static GameObject box(String name, float x, float y, float w, float h) {
+        GameObject obj = new GameObject(name);
+        obj.addComponent(new TransformComponent(new Vector2(x, y)));
+        obj.addComponent(new ColliderComponent(ColliderComponent.ColliderType.BOX, w, h, new Vector2()));
+        return obj;
+    }
+
+    private boolean sideContactEndsGame(Broadphase broadphase) {
+        Scene scene = new Scene("GameLogicTest");
+        scene.setBroadphase(broadphase);
+        scene.initialize();
+        // 玩家矩形的角落在敌人矩形内，敌人矩形的角落都不在玩家矩形内
+        scene.addGameObject(box("Player", 100, 105, 20, 40));
+        scene.addGameObject(box("Enemy", 116, 105, 22, 55));
+        scene.update(0);
+        GameLogic logic = new GameLogic(scene, workerPool);
+        logic.checkCollisions();
+        scene.clear();
+        return logic.isGameOver();
+    }
+
+    private void assertBothOrders(Supplier<Broadphase> factory) {
+        assertTrue(sideContactEndsGame(factory.get()));
+        assertTrue(sideContactEndsGame(new SwappedPairs(factory.get())));
+    }
+
+    @Test
+    void playerEnemyContactDoesNotDependOnPairOrderInGrid() {
+        assertBothOrders(SpatialHashGrid::new);
+    }
+
+    @Test
+    void playerEnemyContactDoesNotDependOnPairOrderInSweepAndPrune() {
+        assertBothOrders(SweepAndPrune::new);
+    }
+
+    @Test
+    void bruteForceMatchesBroadphase() {
+        assertTrue(sideContactEndsGame(null));
+    }
+
+    private static GameObject sleepingCircle(String name, float x, float y, float r) {
+        GameObject obj = new GameObject(name);
+        obj.addComponent(new TransformComponent(new Vector2(x, y)));
+        obj.addComponent(new ColliderComponent(ColliderComponent.ColliderType.CIRCLE, r, new Vector2()));
+        obj.addComponent(new PhysicsComponent(1f)).sleep();
+        return obj;
+    }
+
+    private Scene sceneWith(Broadphase broadphase, GameObject... objects) {
+        Scene scene = new Scene("GameLogicTest");
+        scene.setBroadphase(broadphase);
+        scene.initialize();
+        for (GameObject obj : objects) {
+            scene.addGameObject(obj);
+        }
+        scene.update(0);
+        return scene;
+    }
+
+    private static boolean asleep(GameObject obj) {
+        return obj.getComponent(PhysicsComponent.class).isSleeping();
+    }
+
+    @Test
+    void survivingFireballIsWokenWhenEnemyWasClaimedByAnother() {
+        for (Broadphase broadphase : new Broadphase[] {new SpatialHashGrid(), null}) {
+            GameObject enemy = box("Enemy", 100, 100, 40, 40);
+            GameObject first = sleepingCircle("Fireball", 95, 100, 5);
+            GameObject second = sleepingCircle("Fireball", 105, 100, 5);
+            // 逐对比较路径需要场景中有玩家
+            Scene scene = sceneWith(broadphase, box("Player", 500, 500, 20, 40), enemy, first, second);
+            GameLogic logic = new GameLogic(scene, workerPool);
+            logic.checkCollisions();
+            scene.update(0);
+            assertEquals(1, logic.getScore());
+            GameObject survivor = first.getScene() != null ? first : second;
+            assertNotNull(survivor.getScene());
+            assertFalse(asleep(survivor));
+            scene.clear();
+        }
+    }
+
+    @Test
+    void contactWithoutGameRuleWakesSleepingBody() {
+        GameObject sleeper = sleepingCircle("Crate", 100, 100, 10);
+        GameObject mover = box("Crate", 105, 100, 10, 10);
+        Scene scene = sceneWith(new SpatialHashGrid(), sleeper, mover);
+        new GameLogic(scene, workerPool).checkCollisions();
+        assertFalse(asleep(sleeper));
+        scene.clear();
+    }
+
+    @Test
+    void pairsOfSleepingBodiesAreSkipped() {
+        GameObject a = sleepingCircle("Crate", 100, 100, 10);
+        GameObject b = sleepingCircle("Crate", 105, 100, 10);
+        Scene scene = sceneWith(new SpatialHashGrid(), a, b);
+        new GameLogic(scene, workerPool).checkCollisions();
+        assertEquals(1, scene.getBroadphase().getPairCount());
+        assertTrue(asleep(a));
+        assertTrue(asleep(b));
+        scene.clear();
+    }
+
+    private static GameObject onLayer(GameObject obj, CollisionLayer layer) {
+        obj.getComponent(ColliderComponent.class).setLayer(layer);
+        return obj;
+    }
+
+    @Test
+    void layerMatrixChangeReachesExistingColliders() {
+        for (Broadphase broadphase : new Broadphase[] {new SpatialHashGrid(), null}) {
+            GameObject player = onLayer(box("Player", 100, 105, 20, 40), CollisionLayer.PLAYER);
+            GameObject enemy = onLayer(box("Enemy", 116, 105, 22, 55), CollisionLayer.ENEMY);
+            GameObject fireball = onLayer(sleepingCircle("Fireball", 116, 105, 5), CollisionLayer.FIREBALL);
+            Scene scene = sceneWith(broadphase, player, enemy, fireball);
+            // 碰撞体创建之后再修改矩阵
+            CollisionLayer.setCollides(CollisionLayer.PLAYER, CollisionLayer.ENEMY, false);
+            CollisionLayer.setCollides(CollisionLayer.ENEMY, CollisionLayer.FIREBALL, false);
+            try {
+                GameLogic logic = new GameLogic(scene, workerPool);
+                logic.checkCollisions();
+                assertFalse(logic.isGameOver());
+                assertEquals(0, logic.getScore());
+            } finally {
+                CollisionLayer.setCollides(CollisionLayer.PLAYER, CollisionLayer.ENEMY, true);
+                CollisionLayer.setCollides(CollisionLayer.ENEMY, CollisionLayer.FIREBALL, true);
+                scene.clear();
+            }
+        }
+    }
+
+    @Test
+    void setMaskOverridesMatrixUntilLayerIsSetAgain() {
+        ColliderComponent enemy = new ColliderComponent();
+        enemy.setLayer(CollisionLayer.ENEMY);
+        ColliderComponent other = new ColliderComponent();
+        other.setLayer(CollisionLayer.ENEMY);
+        assertFalse(enemy.canCollideWith(other));
+        enemy.setMask(-1);
+        other.setMask(-1);
+        assertTrue(enemy.canCollideWith(other));
+        enemy.setLayer(CollisionLayer.ENEMY);
+        assertFalse(enemy.canCollideWith(other));
+    }
+}
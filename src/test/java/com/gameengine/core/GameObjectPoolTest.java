@@ -0,0 +1,106 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Scene;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameObjectPoolTest {
+    private int resets;
+
+    private GameObjectPool newPool(int maxParked) {
+        return new GameObjectPool("Test", () -> new GameObject("Pooled"), obj -> resets++, maxParked);
+    }
+
+    @Test
+    void prewarmedAcquireIsAHit() {
+        GameObjectPool pool = newPool(4);
+        pool.prewarm(10);
+        assertEquals(4, pool.getParkedCount());
+        assertEquals(4, pool.getCreatedCount());
+
+        GameObject obj = pool.acquire();
+        assertSame(pool, obj.getPool());
+        assertTrue(obj.isActive());
+        assertEquals(3, pool.getParkedCount());
+        assertEquals(1, pool.getInUseCount());
+        assertEquals(1, pool.getAcquireCount());
+        assertEquals(0, pool.getMissCount());
+    }
+
+    @Test
+    void statsTrackMissesHighWaterAndDrops() {
+        GameObjectPool pool = newPool(2);
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            objects.add(pool.acquire());
+        }
+        assertEquals(5, pool.getMissCount());
+        assertEquals(5, pool.getCreatedCount());
+        assertEquals(5, pool.getInUseCount());
+        assertEquals(5, pool.getHighWaterMark());
+
+        for (GameObject obj : objects) {
+            pool.release(obj);
+        }
+        assertEquals(5, resets);
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(2, pool.getParkedCount());
+        assertEquals(3, pool.getDroppedCount());
+        assertEquals(5, pool.getHighWaterMark());
+
+        // 复用停放的对象，不再新建
+        GameObject reused = pool.acquire();
+        assertTrue(objects.contains(reused));
+        assertEquals(5, pool.getCreatedCount());
+        assertEquals(6, pool.getAcquireCount());
+        assertEquals(5, pool.getMissCount());
+    }
+
+    @Test
+    void releaseIgnoresForeignObjects() {
+        GameObjectPool pool = newPool(4);
+        GameObjectPool other = newPool(4);
+        pool.release(other.acquire());
+        pool.release(new GameObject("Plain"));
+        assertEquals(0, pool.getParkedCount());
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(0, resets);
+    }
+
+    @Test
+    void shrinkingMaxParkedDropsExcess() {
+        GameObjectPool pool = newPool(8);
+        pool.prewarm(8);
+        pool.setMaxParked(3);
+        assertEquals(3, pool.getParkedCount());
+        assertEquals(5, pool.getDroppedCount());
+    }
+
+    @Test
+    void sceneRemovalAndClearReturnObjectsToPool() {
+        GameObjectPool pool = newPool(16);
+        Scene scene = new Scene("PoolScene");
+        scene.initialize();
+        GameObject removed = pool.acquire();
+        scene.addGameObject(removed);
+        scene.addGameObject(pool.acquire());
+        scene.update(0);
+        // 尚未到同步点的新增对象也应归还
+        scene.addGameObject(pool.acquire());
+        assertEquals(3, pool.getInUseCount());
+
+        scene.removeGameObject(removed);
+        scene.update(0);
+        assertEquals(2, pool.getInUseCount());
+        assertEquals(1, pool.getParkedCount());
+
+        scene.clear();
+        assertEquals(0, pool.getInUseCount());
+        assertEquals(3, pool.getParkedCount());
+        assertTrue(scene.getGameObjects().isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package com.gameengine.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemSchedulerTest {
+    // 仅用作组件类型标记
+    private static final class A {}
+    private static final class B {}
+    private static final class C {}
+
+    private final WorkerPool workerPool = new WorkerPool(2);
+    private final SystemScheduler scheduler = new SystemScheduler(workerPool);
+    private final ConcurrentLinkedQueue<String> log = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private GameSystem system(String name, Set<Class<?>> reads, Set<Class<?>> writes) {
+        return new GameSystem() {
+            @Override
+            public Set<Class<?>> reads() {
+                return reads;
+            }
+
+            @Override
+            public Set<Class<?>> writes() {
+                return writes;
+            }
+
+            @Override
+            public void update(float deltaTime) {
+                log.add(name);
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    @Test
+    void disjointReadersShareAStage() {
+        GameSystem r1 = system("r1", Set.of(A.class), Set.of());
+        GameSystem r2 = system("r2", Set.of(A.class, B.class), Set.of());
+        GameSystem w = system("w", Set.of(), Set.of(C.class));
+        scheduler.addSystem(r1);
+        scheduler.addSystem(r2);
+        scheduler.addSystem(w);
+        assertEquals(List.of(List.of(r1, r2, w)), scheduler.getStages());
+    }
+
+    @Test
+    void writeConflictsSerializeInRegistrationOrder() {
+        GameSystem physics = system("physics", Set.of(), Set.of(A.class));
+        GameSystem collide = system("collide", Set.of(A.class), Set.of(B.class));
+        GameSystem render = system("render", Set.of(C.class), Set.of());
+        GameSystem respond = system("respond", Set.of(B.class), Set.of(A.class));
+        scheduler.addSystem(physics);
+        scheduler.addSystem(collide);
+        scheduler.addSystem(render);
+        scheduler.addSystem(respond);
+
+        // 读写冲突、写写冲突都推到冲突系统的下一阶段；不冲突的 render 留在第 0 阶段
+        assertEquals(List.of(List.of(physics, render), List.of(collide), List.of(respond)),
+                     scheduler.getStages());
+    }
+
+    @Test
+    void writerAfterReaderGoesToNextStage() {
+        GameSystem reader = system("reader", Set.of(A.class), Set.of());
+        GameSystem writer = system("writer", Set.of(), Set.of(A.class));
+        scheduler.addSystem(reader);
+        scheduler.addSystem(writer);
+        assertEquals(List.of(List.of(reader), List.of(writer)), scheduler.getStages());
+    }
+
+    @Test
+    void stagesRebuildAfterRemovalAndIgnoreDuplicates() {
+        GameSystem writer = system("writer", Set.of(), Set.of(A.class));
+        GameSystem reader = system("reader", Set.of(A.class), Set.of());
+        scheduler.addSystem(writer);
+        scheduler.addSystem(reader);
+        scheduler.addSystem(writer);
+        assertEquals(2, scheduler.getSystems().size());
+        assertEquals(2, scheduler.getStages().size());
+
+        scheduler.removeSystem(writer);
+        assertEquals(List.of(List.of(reader)), scheduler.getStages());
+    }
+
+    @Test
+    void updateRunsEveryStageInOrder() {
+        GameSystem physics = system("physics", Set.of(), Set.of(A.class));
+        GameSystem audio = system("audio", Set.of(C.class), Set.of());
+        GameSystem collide = system("collide", Set.of(A.class), Set.of(B.class));
+        scheduler.addSystem(physics);
+        scheduler.addSystem(audio);
+        scheduler.addSystem(collide);
+
+        scheduler.update(0.016f);
+        List<String> order = List.copyOf(log);
+        assertEquals(3, order.size());
+        assertTrue(order.containsAll(List.of("physics", "audio", "collide")));
+        assertEquals("collide", order.get(2));
+        assertEquals("SystemScheduler [0: physics audio] [1: collide]", scheduler.toString());
+    }
+}